@@ -4,28 +4,28 @@ import com.example.demo.domain.model.dto.auth.AuthenticationDTO;
 import com.example.demo.domain.model.dto.auth.LoginResponseDTO;
 import com.example.demo.domain.model.dto.auth.RegisterDTO;
 import com.example.demo.domain.model.usuario.Usuario;
+import com.example.demo.infra.security.SenhaHashExecutor;
 import com.example.demo.infra.security.TokenService;
 import com.example.demo.repository.UsuarioRepository;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthenticationController {
 
-    @Autowired
-    AuthenticationManager authenticationManager;
-
     @Autowired
     UsuarioRepository repository;
 
@@ -35,40 +35,58 @@ public class AuthenticationController {
     @Autowired
     MessageSource messageSource;
 
-    @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody @Valid AuthenticationDTO dto) {
-        var usernamePassword = new UsernamePasswordAuthenticationToken(dto.email(), dto.password());
-        var auth = this.authenticationManager.authenticate(usernamePassword);
+    @Autowired
+    SenhaHashExecutor senhaHashExecutor;
 
-        var token = tokenService.generateToken((Usuario) auth.getPrincipal());
+    /** Executor de tarefas da aplicação (o mesmo do MVC assíncrono): grava o usuário depois do hash */
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    Executor taskExecutor;
 
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+    /**
+     * Busca do usuário na thread da requisição; só o BCrypt (matches) roda no SenhaHashExecutor
+     * Fila do pool cheia: 503 imediato
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody @Valid AuthenticationDTO dto) {
+        Usuario usuario = (Usuario) this.repository.findByEmail(dto.email());
+        String hash = usuario != null ? usuario.getPassword() : null;
+        return senhaHashExecutor.matches(dto.password(), hash).thenApply(confere -> {
+            if (!confere) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return ResponseEntity.ok(new LoginResponseDTO(tokenService.generateToken(usuario)));
+        });
     }
 
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@RequestBody @Valid RegisterDTO dto) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> register(@RequestBody @Valid RegisterDTO dto) {
         if (this.repository.findByEmail(dto.email()) != null) {
             Map<String, Object> error = new HashMap<>();
             error.put("status", 400);
             error.put("message", messageSource.getMessage("auth.email.already.registered", null, LocaleContextHolder.getLocale()));
             error.put("timestamp", java.time.LocalDateTime.now());
-            return ResponseEntity.badRequest().body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(error));
         }
 
-    String encryptedPassword = new BCryptPasswordEncoder().encode(dto.password());
-        Usuario newUser = new Usuario();
-        newUser.setUsername(dto.username());
-        newUser.setEmail(dto.email());
-        newUser.setPassword(encryptedPassword);
-        newUser.setRole(dto.role());
+        // Locale capturado aqui: a continuação roda fora da requisição
+        // O save vai para o taskExecutor, não para a thread do BCrypt que terminou o hash
+        var locale = LocaleContextHolder.getLocale();
+        return senhaHashExecutor.encode(dto.password()).thenApplyAsync(encryptedPassword -> {
+            Usuario newUser = new Usuario();
+            newUser.setUsername(dto.username());
+            newUser.setEmail(dto.email());
+            newUser.setPassword(encryptedPassword);
+            newUser.setRole(dto.role());
+
+            this.repository.save(newUser);
 
-        this.repository.save(newUser);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", 200);
-        response.put("message", messageSource.getMessage("auth.user.registered", null, LocaleContextHolder.getLocale()));
-        response.put("timestamp", java.time.LocalDateTime.now());
-        return ResponseEntity.ok(response);
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", 200);
+            response.put("message", messageSource.getMessage("auth.user.registered", null, locale));
+            response.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        }, taskExecutor);
     }
 
 }
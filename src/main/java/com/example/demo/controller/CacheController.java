@@ -1,10 +1,14 @@
 package com.example.demo.controller;
 
+import com.example.demo.infra.cache.CacheKeyPrefixMetrics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -13,8 +17,11 @@ public class CacheController {
 
     private final CacheManager cacheManager;
 
-    public CacheController(CacheManager cacheManager) {
+    private final CacheKeyPrefixMetrics prefixMetrics;
+
+    public CacheController(CacheManager cacheManager, CacheKeyPrefixMetrics prefixMetrics) {
         this.cacheManager = cacheManager;
+        this.prefixMetrics = prefixMetrics;
     }
 
     /**
@@ -63,5 +70,33 @@ public class CacheController {
         response.put("total", cacheManager.getCacheNames().size());
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * Estatísticas de cada cache (Caffeine) e taxa de acerto por prefixo de chave
+     * GET /cache/stats
+     * Os mesmos números são publicados no Micrometer (cache.gets, cache.evictions, cache.prefix.gets...)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                Map<String, Object> cacheStats = new LinkedHashMap<>();
+                cacheStats.put("estimatedSize", caffeineCache.getNativeCache().estimatedSize());
+                cacheStats.put("requestCount", stats.requestCount());
+                cacheStats.put("hitCount", stats.hitCount());
+                cacheStats.put("missCount", stats.missCount());
+                cacheStats.put("hitRate", stats.hitRate());
+                cacheStats.put("loadSuccessCount", stats.loadSuccessCount());
+                cacheStats.put("loadFailureCount", stats.loadFailureCount());
+                cacheStats.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+                cacheStats.put("evictionCount", stats.evictionCount());
+                cacheStats.put("evictionWeight", stats.evictionWeight());
+                cacheStats.put("prefixes", prefixMetrics.snapshot(cacheName));
+                response.put(cacheName, cacheStats);
+            }
+        });
+        return ResponseEntity.ok(response);
+    }
+}
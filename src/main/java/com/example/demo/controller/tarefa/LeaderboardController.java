@@ -0,0 +1,44 @@
+package com.example.demo.controller.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.LeaderboardDTO;
+import com.example.demo.service.tarefa.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class LeaderboardController {
+
+    @Autowired
+    LeaderboardService service;
+
+    /**
+     * Ranking global por pontos de tarefas completadas
+     * @param top Quantidade de posições (padrão: 10, máximo: 100)
+     * @param usuarioId Inclui a posição deste usuário na resposta (opcional)
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<LeaderboardDTO> global(
+            @RequestParam(required = false, defaultValue = "10") int top,
+            @RequestParam(required = false) Long usuarioId
+    ) {
+        return ResponseEntity.ok(service.global(top, usuarioId));
+    }
+
+    /**
+     * Ranking de uma missão por pontos de tarefas completadas
+     * @param top Quantidade de posições (padrão: 10, máximo: 100)
+     * @param usuarioId Inclui a posição deste usuário na resposta (opcional)
+     */
+    @GetMapping("/missoes/{id}/leaderboard")
+    public ResponseEntity<LeaderboardDTO> missao(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "10") int top,
+            @RequestParam(required = false) Long usuarioId
+    ) {
+        return ResponseEntity.ok(service.missao(id, top, usuarioId));
+    }
+}
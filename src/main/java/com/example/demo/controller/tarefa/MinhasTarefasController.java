@@ -0,0 +1,37 @@
+package com.example.demo.controller.tarefa;
+
+import com.example.demo.domain.model.dto.CursorPageResponse;
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
+import com.example.demo.service.tarefa.TarefaFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/me")
+public class MinhasTarefasController {
+
+    @Autowired
+    TarefaFeedService service;
+
+    /**
+     * Tarefas do usuário autenticado, da mais recente para a mais antiga (keyset)
+     * @param completado Somente tarefas neste estado (opcional)
+     * @param after Cursor retornado em nextCursor pela página anterior (omitir na primeira)
+     * @param size Tamanho da página (padrão: 10, máximo: 100)
+     */
+    @GetMapping("/tarefas")
+    public ResponseEntity<CursorPageResponse<TarefaSnapshot>> listar(
+            @AuthenticationPrincipal UsuarioSnapshot usuario,
+            @RequestParam(required = false) Boolean completado,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.listar(usuario.id(), completado, after, size));
+    }
+}
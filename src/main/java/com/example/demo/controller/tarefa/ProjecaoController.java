@@ -0,0 +1,49 @@
+package com.example.demo.controller.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.ProjecaoStatusDTO;
+import com.example.demo.domain.model.tarefa.CategoriaTotais;
+import com.example.demo.domain.model.tarefa.MissaoProgresso;
+import com.example.demo.service.tarefa.ProjecaoTarefasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Leituras dos agregados pré-calculados a partir dos eventos de tarefa
+ * Podem refletir as escritas com o atraso de um ciclo do consumidor (app.projecao.interval-ms)
+ */
+@RestController
+public class ProjecaoController {
+
+    @Autowired
+    ProjecaoTarefasService service;
+
+    @GetMapping("/missoes/{id}/progresso")
+    public ResponseEntity<MissaoProgresso> progressoMissao(@PathVariable Long id) {
+        return ResponseEntity.ok(service.progressoMissao(id));
+    }
+
+    @GetMapping("/categorias/{id}/totais")
+    public ResponseEntity<CategoriaTotais> totaisCategoria(@PathVariable Long id) {
+        return ResponseEntity.ok(service.totaisCategoria(id));
+    }
+
+    /**
+     * Offset do consumidor e último evento gravado
+     */
+    @GetMapping("/projecoes/tarefas")
+    public ResponseEntity<ProjecaoStatusDTO> status() {
+        return ResponseEntity.ok(service.status());
+    }
+
+    /**
+     * Reconstrói os agregados a partir das tarefas e segue o log dali (ADMIN)
+     */
+    @PostMapping("/projecoes/tarefas/replay")
+    public ResponseEntity<ProjecaoStatusDTO> replay() {
+        return ResponseEntity.ok(service.replay());
+    }
+}
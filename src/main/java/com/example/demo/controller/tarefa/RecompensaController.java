@@ -1,10 +1,12 @@
 package com.example.demo.controller.tarefa;
 
 import com.example.demo.domain.model.dto.tarefa.CategoriaSustentabilidadeDTO;
+import com.example.demo.domain.model.dto.tarefa.ElegibilidadeDTO;
 import com.example.demo.domain.model.dto.tarefa.RecompensaDTO;
 import com.example.demo.domain.model.tarefa.CategoriaSustentabilidade;
 import com.example.demo.domain.model.tarefa.Recompensa;
 import com.example.demo.service.tarefa.CategoriaSustentabilidadeService;
+import com.example.demo.service.tarefa.RecompensaElegibilidadeService;
 import com.example.demo.service.tarefa.RecompensaService;
 import dev.langchain4j.service.spring.AiService;
 import jakarta.validation.Valid;
@@ -21,11 +23,28 @@ public class RecompensaController {
         @Autowired
         RecompensaService service;
 
+        @Autowired
+        RecompensaElegibilidadeService elegibilidadeService;
+
         @GetMapping
         public List<Recompensa> listarTodas() {
             return service.listarTodasRecompensas();
         }
 
+        /**
+         * Recompensas liberadas e a próxima a liberar, pelo saldo do usuário ou por um valor de pontos
+         */
+        @GetMapping("/elegiveis")
+        public ElegibilidadeDTO elegiveis(@RequestParam(required = false) Long usuarioId,
+                                          @RequestParam(required = false) Long pontos) {
+            if ((usuarioId == null) == (pontos == null)) {
+                throw new IllegalArgumentException("Provide exactly one of usuarioId or pontos");
+            }
+            return usuarioId != null
+                    ? elegibilidadeService.consultarPorUsuario(usuarioId)
+                    : elegibilidadeService.consultarPorPontos(pontos);
+        }
+
         @PostMapping
         public ResponseEntity<Recompensa> criar(@RequestBody @Valid RecompensaDTO dto) {
             return ResponseEntity.ok(service.criarRecompensa(dto));
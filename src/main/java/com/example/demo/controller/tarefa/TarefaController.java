@@ -1,13 +1,19 @@
 package com.example.demo.controller.tarefa;
 
+import com.example.demo.domain.model.dto.CursorPageResponse;
 import com.example.demo.domain.model.dto.PageResponse;
+import com.example.demo.domain.model.dto.tarefa.TarefaBulkDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaBulkResponseDTO;
 import com.example.demo.domain.model.dto.tarefa.TarefaDTO;
-import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.domain.model.dto.tarefa.TarefaFiltroDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
 import com.example.demo.service.tarefa.TarefaService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,12 +27,25 @@ public class TarefaController {
     /**
      * Lista todas as tarefas sem paginação
      * Para usar paginação, use o endpoint /tarefas/paginated
+     * Para exportar grandes volumes, use o endpoint /tarefas/export
      */
     @GetMapping
-    public ResponseEntity<List<Tarefa>> listarTodas() {
+    public ResponseEntity<List<TarefaSnapshot>> listarTodas() {
         return ResponseEntity.ok(service.listarTodasTarefas());
     }
 
+    /**
+     * Exporta todas as tarefas em streaming NDJSON (application/x-ndjson)
+     * As tarefas são enviadas conforme lidas do banco, sem carregar a lista inteira em memória
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody body = service::exportarTarefas;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Lista tarefas com paginação
      * @param page Número da página (padrão: 0)
@@ -34,25 +53,105 @@ public class TarefaController {
      * @return PageResponse com as tarefas paginadas
      */
     @GetMapping("/paginated")
-    public ResponseEntity<PageResponse<Tarefa>> listarPaginadas(
+    public ResponseEntity<PageResponse<TarefaSnapshot>> listarPaginadas(
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size
     ) {
         return ResponseEntity.ok(service.listarTarefasPaginadas(page, size));
     }
 
+    /**
+     * Lista tarefas filtradas, ordenadas por id
+     * Filtros omitidos não são aplicados
+     * @param page Número da página (padrão: 0)
+     * @param size Tamanho da página (padrão: 10, máximo: 100)
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<PageResponse<TarefaSnapshot>> filtrar(
+            @RequestParam(required = false) Long usuarioId,
+            @RequestParam(required = false) Long missaoId,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Boolean completado,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size
+    ) {
+        TarefaFiltroDTO filtro = new TarefaFiltroDTO(usuarioId, missaoId, categoriaId, completado);
+        return ResponseEntity.ok(service.filtrarTarefas(filtro, page, size));
+    }
+
+    /**
+     * Busca textual em título e descrição, ordenada por relevância
+     * @param q Termos da busca
+     * @param after Cursor retornado em nextCursor pela página anterior (omitir na primeira)
+     * @param size Tamanho da página (padrão: 10, máximo: 100)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<TarefaSnapshot>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.buscarTarefas(q, after, size));
+    }
+
+    /**
+     * Lista tarefas com paginação por cursor (keyset)
+     * @param after Cursor retornado em nextCursor pela página anterior (omitir na primeira)
+     * @param size Tamanho da página (padrão: 10, máximo: 100)
+     * @param withTotal Inclui o total aproximado de tarefas (padrão: false)
+     * @return CursorPageResponse com as tarefas e o cursor da próxima página
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<TarefaSnapshot>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(service.listarTarefasPorCursor(after, size, withTotal));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Tarefa> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<TarefaSnapshot> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(service.buscarTarefaPorId(id));
     }
 
     @PostMapping
-    public ResponseEntity<Tarefa> criar(@RequestBody @Valid TarefaDTO dto) {
+    public ResponseEntity<TarefaSnapshot> criar(@RequestBody @Valid TarefaDTO dto) {
         return ResponseEntity.ok(service.criarTarefa(dto));
     }
 
+    /**
+     * Cria várias tarefas de uma vez (ex: carga inicial de uma missão)
+     * @param dtos Até 1000 tarefas
+     * @return As tarefas criadas, na ordem enviada
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TarefaSnapshot>> criarEmLote(@RequestBody List<@Valid TarefaDTO> dtos) {
+        return ResponseEntity.ok(service.criarTarefasEmLote(dtos));
+    }
+
+    /**
+     * Marca várias tarefas como completadas de uma vez
+     * @param filtro ids e/ou usuarioId e/ou missaoId (combinados com AND)
+     * @return Quantidade de tarefas que passaram a completadas
+     */
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<TarefaBulkResponseDTO> completarEmMassa(@RequestBody TarefaBulkDTO filtro) {
+        return ResponseEntity.ok(service.completarTarefas(filtro));
+    }
+
+    /**
+     * Remove várias tarefas de uma vez
+     * @param filtro ids e/ou usuarioId e/ou missaoId (combinados com AND)
+     * @return Quantidade de tarefas removidas
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<TarefaBulkResponseDTO> deletarEmMassa(@RequestBody TarefaBulkDTO filtro) {
+        return ResponseEntity.ok(service.deletarTarefas(filtro));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Tarefa> atualizar(@PathVariable Long id, @RequestBody @Valid TarefaDTO dto) {
+    public ResponseEntity<TarefaSnapshot> atualizar(@PathVariable Long id, @RequestBody @Valid TarefaDTO dto) {
         return ResponseEntity.ok(service.atualizarTarefa(id, dto));
     }
 
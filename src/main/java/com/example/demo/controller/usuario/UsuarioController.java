@@ -1,7 +1,10 @@
 package com.example.demo.controller.usuario;
 
+import com.example.demo.domain.model.dto.usuario.PontosDTO;
 import com.example.demo.domain.model.dto.usuario.UsuarioDTO;
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
 import com.example.demo.domain.model.usuario.Usuario;
+import com.example.demo.service.usuario.PontosService;
 import com.example.demo.service.usuario.UsuarioService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/usuarios")
@@ -18,9 +23,12 @@ public class UsuarioController {
     @Autowired
     UsuarioService service;
 
+    @Autowired
+    PontosService pontosService;
+
     @GetMapping
-    public ResponseEntity<List<Usuario>> listarTodos() {
-        List<Usuario> usuarios = service.listarTodosUsuarios();
+    public ResponseEntity<List<UsuarioSnapshot>> listarTodos() {
+        List<UsuarioSnapshot> usuarios = service.listarTodosUsuarios();
         return ResponseEntity.status(HttpStatus.OK).body(usuarios);
     }
 
@@ -30,10 +38,30 @@ public class UsuarioController {
         return ResponseEntity.status(HttpStatus.OK).body(usuario);
     }
 
+    /**
+     * Saldo de pontos do usuário (tarefas completadas), lido da tabela materializada
+     */
+    @GetMapping("/{id}/pontos")
+    public ResponseEntity<PontosDTO> pontos(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.OK).body(pontosService.consultar(id));
+    }
+
+    /**
+     * Reconstrói o saldo de pontos de todos os usuários (o mesmo job agendado, sob demanda)
+     */
+    @PostMapping("/pontos/reconciliar")
+    public ResponseEntity<Map<String, Object>> reconciliarPontos() {
+        int usuarios = pontosService.reconciliar();
+        return ResponseEntity.status(HttpStatus.OK).body(Map.of("usuarios", usuarios));
+    }
+
+    /**
+     * Com senha nova, responde quando o hash (pool do BCrypt) e o save terminam, sem prender a thread do Tomcat
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Usuario> atualizar(@PathVariable Long id, @RequestBody @Valid UsuarioDTO dto) {
-        Usuario usuario = service.editarUsuario(id, dto);
-        return ResponseEntity.status(HttpStatus.OK).body(usuario);
+    public CompletableFuture<ResponseEntity<Usuario>> atualizar(@PathVariable Long id, @RequestBody @Valid UsuarioDTO dto) {
+        return service.editarUsuario(id, dto)
+                .thenApply(usuario -> ResponseEntity.status(HttpStatus.OK).body(usuario));
     }
 
     @DeleteMapping("/{id}")
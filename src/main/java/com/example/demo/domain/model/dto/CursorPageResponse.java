@@ -0,0 +1,25 @@
+package com.example.demo.domain.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO para resposta paginada por cursor (keyset)
+ * Não executa COUNT(*): o total é opcional e apenas aproximado
+ * @param <T> Tipo dos itens na página
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext,
+        Long approximateTotal
+) {
+    public CursorPageResponse {
+        if (content == null) {
+            throw new IllegalArgumentException("Content cannot be null");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+    }
+}
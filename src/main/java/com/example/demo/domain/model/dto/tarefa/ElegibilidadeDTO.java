@@ -0,0 +1,20 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import com.example.demo.domain.model.tarefa.Recompensa;
+
+import java.util.List;
+
+/**
+ * Recompensas ativas liberadas para um saldo de pontos
+ * @param desbloqueadas Recompensas com pontosRequiridos <= pontos, da menor para a maior exigência
+ * @param proxima Próxima recompensa a liberar (null se todas já foram)
+ * @param pontosFaltantes Pontos que faltam para a próxima (0 se não houver próxima)
+ */
+public record ElegibilidadeDTO(
+        Long usuarioId,
+        long pontos,
+        List<Recompensa> desbloqueadas,
+        Recompensa proxima,
+        long pontosFaltantes
+) {
+}
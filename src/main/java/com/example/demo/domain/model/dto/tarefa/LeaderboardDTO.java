@@ -0,0 +1,18 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import java.util.List;
+
+/**
+ * Ranking por pontos de tarefas completadas
+ * @param missaoId Missão do ranking (null no ranking global)
+ * @param participantes Usuários com pontos no ranking
+ * @param top Primeiras posições
+ * @param usuario Posição do usuário consultado (null se não informado ou sem pontos)
+ */
+public record LeaderboardDTO(
+        Long missaoId,
+        int participantes,
+        List<PosicaoRankingDTO> top,
+        PosicaoRankingDTO usuario
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+/**
+ * @param posicao Posição no ranking, a partir de 1 (empate: menor id primeiro)
+ */
+public record PosicaoRankingDTO(
+        int posicao,
+        Long usuarioId,
+        int pontos
+) {
+}
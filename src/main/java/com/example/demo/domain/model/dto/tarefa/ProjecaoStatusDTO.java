@@ -0,0 +1,15 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+/**
+ * Posição de um consumidor de projeção no log de eventos (evento_outbox), na ordem (transação, id)
+ * @param ultimaTransacao Transação do último evento aplicado (depois de um replay, o xmin do snapshot dele)
+ * @param ultimoEventoAplicado Último evento aplicado nessa transação (0 logo após um replay)
+ * @param eventosPendentes Eventos de tarefa que o consumidor ainda vai aplicar
+ */
+public record ProjecaoStatusDTO(
+        String consumidor,
+        long ultimaTransacao,
+        long ultimoEventoAplicado,
+        long eventosPendentes
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+public record TarefaAtualizadaEvent(
+        Long tarefaId,
+        TarefaEstado antes,
+        TarefaEstado depois
+) {
+
+    /**
+     * Tipo no outbox e routing key no exchange de eventos
+     */
+    public static final String TIPO = "tarefa.atualizada";
+}
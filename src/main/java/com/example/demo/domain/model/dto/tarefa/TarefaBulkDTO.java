@@ -0,0 +1,25 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import java.util.List;
+
+/**
+ * Seleção de tarefas para as operações em massa (/tarefas/bulk/...)
+ * Critérios informados são combinados com AND; ao menos um é obrigatório
+ * @param ids Ids das tarefas (até 1000)
+ * @param usuarioId Somente tarefas deste usuário
+ * @param missaoId Somente tarefas desta missão
+ */
+public record TarefaBulkDTO(
+        List<Long> ids,
+        Long usuarioId,
+        Long missaoId
+) {
+
+    public boolean temIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean vazio() {
+        return !temIds() && usuarioId == null && missaoId == null;
+    }
+}
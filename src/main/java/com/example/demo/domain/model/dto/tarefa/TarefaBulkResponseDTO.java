@@ -0,0 +1,11 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+/**
+ * Resultado de uma operação em massa
+ * @param afetadas Tarefas efetivamente alteradas ou removidas
+ */
+public record TarefaBulkResponseDTO(
+        String operacao,
+        int afetadas
+) {
+}
@@ -0,0 +1,32 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma tarefa na ordenação da busca (rank DESC, id DESC)
+ * O rank é o real (float4) do ts_rank; Float.toString/parseFloat preserva o valor exato
+ */
+public record TarefaBuscaCursor(
+        float rank,
+        Long id
+) {
+
+    public String encode() {
+        String raw = rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TarefaBuscaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new TarefaBuscaCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
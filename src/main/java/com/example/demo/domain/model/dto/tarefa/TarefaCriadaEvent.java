@@ -1,13 +1,43 @@
 package com.example.demo.domain.model.dto.tarefa;
 
+import com.example.demo.domain.model.tarefa.Tarefa;
+
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 public record TarefaCriadaEvent(
         Long tarefaId,
         String titulo,
         Long usuarioId,
         Long categoriaId,
-        OffsetDateTime dataCriacao
+        OffsetDateTime dataCriacao,
+        Long missaoId,
+        boolean completado,
+        int points
 ) {
-}
 
+    /**
+     * Tipo no outbox e routing key no exchange de eventos
+     */
+    public static final String TIPO = "tarefa.criada";
+
+    /**
+     * dataCriacao da tarefa é só a data: o evento leva o início do dia em UTC
+     */
+    public static TarefaCriadaEvent of(Tarefa tarefa) {
+        return new TarefaCriadaEvent(
+                tarefa.getId(),
+                tarefa.getTitulo(),
+                tarefa.getUsuario() != null ? tarefa.getUsuario().getId() : null,
+                tarefa.getCategoria() != null ? tarefa.getCategoria().getId() : null,
+                tarefa.getDataCriacao() != null ? tarefa.getDataCriacao().atStartOfDay().atOffset(ZoneOffset.UTC) : null,
+                tarefa.getMissao() != null ? tarefa.getMissao().getId() : null,
+                tarefa.isCompletado(),
+                tarefa.getPoints()
+        );
+    }
+
+    public TarefaEstado estado() {
+        return new TarefaEstado(missaoId, categoriaId, usuarioId, completado, points);
+    }
+}
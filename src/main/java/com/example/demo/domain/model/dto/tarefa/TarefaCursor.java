@@ -0,0 +1,47 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Posição de uma tarefa na ordenação (dataCriacao DESC, id DESC)
+ * Serializada como token opaco no parâmetro "after"
+ */
+public record TarefaCursor(
+        LocalDate dataCriacao,
+        Long id
+) implements Comparable<TarefaCursor> {
+
+    private static final Comparator<TarefaCursor> ORDEM = Comparator
+            .comparing(TarefaCursor::dataCriacao)
+            .thenComparing(TarefaCursor::id);
+
+    /**
+     * Ordem crescente (mais antiga primeiro); as páginas percorrem a ordem inversa
+     */
+    @Override
+    public int compareTo(TarefaCursor outro) {
+        return ORDEM.compare(this, outro);
+    }
+
+    public String encode() {
+        String raw = dataCriacao + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TarefaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new TarefaCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import com.example.demo.domain.model.tarefa.Tarefa;
+
+/**
+ * Campos de uma tarefa que entram nos agregados (progresso de missão, totais de categoria)
+ * Levado pelos eventos de atualização e remoção para as projeções calcularem o delta
+ */
+public record TarefaEstado(
+        Long missaoId,
+        Long categoriaId,
+        Long usuarioId,
+        boolean completado,
+        int points
+) {
+
+    public static TarefaEstado of(Tarefa tarefa) {
+        return new TarefaEstado(
+                tarefa.getMissao() != null ? tarefa.getMissao().getId() : null,
+                tarefa.getCategoria() != null ? tarefa.getCategoria().getId() : null,
+                tarefa.getUsuario() != null ? tarefa.getUsuario().getId() : null,
+                tarefa.isCompletado(),
+                tarefa.getPoints()
+        );
+    }
+
+    public static TarefaEstado of(TarefaSnapshot tarefa) {
+        return new TarefaEstado(tarefa.missaoId(), tarefa.categoriaId(), tarefa.usuarioId(), tarefa.completado(), tarefa.points());
+    }
+
+    public TarefaEstado completada() {
+        return new TarefaEstado(missaoId, categoriaId, usuarioId, true, points);
+    }
+}
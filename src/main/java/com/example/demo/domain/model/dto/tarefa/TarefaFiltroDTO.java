@@ -0,0 +1,18 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+/**
+ * Filtro de GET /tarefas/filter: campos null não filtram
+ */
+public record TarefaFiltroDTO(
+        Long usuarioId,
+        Long missaoId,
+        Long categoriaId,
+        Boolean completado
+) {
+    /**
+     * Assinatura do filtro usada na chave do cache
+     */
+    public String assinatura() {
+        return "u=" + usuarioId + ":m=" + missaoId + ":c=" + categoriaId + ":done=" + completado;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+public record TarefaRemovidaEvent(
+        Long tarefaId,
+        TarefaEstado estado
+) {
+
+    /**
+     * Tipo no outbox e routing key no exchange de eventos
+     */
+    public static final String TIPO = "tarefa.removida";
+}
@@ -0,0 +1,58 @@
+package com.example.demo.domain.model.dto.tarefa;
+
+import com.example.demo.domain.model.tarefa.Tarefa;
+
+import java.time.LocalDate;
+
+/**
+ * Cópia imutável de uma tarefa para leitura e cache
+ * Missão, categoria e usuário entram só como id e nome (sem entidades associadas nem senha)
+ * Carregada por projeção JPQL (SELECT new ...): não é gerenciada pelo Hibernate
+ */
+public record TarefaSnapshot(
+        Long id,
+        String titulo,
+        String descricao,
+        boolean completado,
+        LocalDate dataCriacao,
+        int points,
+        Long missaoId,
+        String missaoNome,
+        Long categoriaId,
+        String categoriaNome,
+        Long usuarioId,
+        String usuarioNome
+) {
+
+    /**
+     * Snapshot de uma entidade já carregada (respostas de criação e atualização)
+     */
+    public static TarefaSnapshot of(Tarefa tarefa) {
+        return of(
+                tarefa,
+                tarefa.getMissao() != null ? tarefa.getMissao().getNome() : null,
+                tarefa.getCategoria() != null ? tarefa.getCategoria().getNome() : null,
+                tarefa.getUsuario() != null ? tarefa.getUsuario().getNome() : null
+        );
+    }
+
+    /**
+     * Snapshot com os nomes já conhecidos: não inicializa associações que são só referência (proxy)
+     */
+    public static TarefaSnapshot of(Tarefa tarefa, String missaoNome, String categoriaNome, String usuarioNome) {
+        return new TarefaSnapshot(
+                tarefa.getId(),
+                tarefa.getTitulo(),
+                tarefa.getDescricao(),
+                tarefa.isCompletado(),
+                tarefa.getDataCriacao(),
+                tarefa.getPoints(),
+                tarefa.getMissao() != null ? tarefa.getMissao().getId() : null,
+                missaoNome,
+                tarefa.getCategoria() != null ? tarefa.getCategoria().getId() : null,
+                categoriaNome,
+                tarefa.getUsuario() != null ? tarefa.getUsuario().getId() : null,
+                usuarioNome
+        );
+    }
+}
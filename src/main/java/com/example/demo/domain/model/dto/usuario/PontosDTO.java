@@ -0,0 +1,10 @@
+package com.example.demo.domain.model.dto.usuario;
+
+import java.time.LocalDateTime;
+
+public record PontosDTO(
+        Long usuarioId,
+        long pontos,
+        LocalDateTime atualizadoEm
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.demo.domain.model.dto.usuario;
+
+/**
+ * Variação de pontos de um usuário em uma missão (missaoId pode ser null)
+ * Origem dos ajustes do saldo materializado (PontosService) e do ranking em memória (LeaderboardService)
+ */
+public record PontosDelta(
+        Long missaoId,
+        Long usuarioId,
+        Long pontos
+) {
+
+    /**
+     * Não altera saldo nem ranking (sem usuário ou sem pontos)
+     */
+    public boolean vazio() {
+        return usuarioId == null || pontos == null || pontos == 0;
+    }
+
+    public PontosDelta negativo() {
+        return new PontosDelta(missaoId, usuarioId, -pontos);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.domain.model.dto.usuario;
+
+import com.example.demo.domain.model.usuario.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Cópia imutável de um usuário para leitura e cache, sem o hash da senha
+ * Carregada por projeção JPQL (SELECT new ...): não é gerenciada pelo Hibernate
+ * Também é o principal das requisições autenticadas por token (SecurityFilter)
+ */
+public record UsuarioSnapshot(
+        Long id,
+        String username,
+        String email,
+        UserRole role
+) {
+
+    /**
+     * Mesmas authorities de Usuario.getAuthorities() (sem prefixo "get": não entra no JSON)
+     */
+    public List<GrantedAuthority> authorities() {
+        return role != null ? role.authorities() : List.of();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.domain.model.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Evento gravado na transação da escrita e publicado depois pelo OutboxRelay
+ * Inserido pelo OutboxService em JDBC batch; a entidade serve para leitura e para marcar a publicação
+ */
+@Entity
+@Table(name = "evento_outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    private Long id;
+
+    private String tipo;
+
+    private Long agregadoId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String payload;
+
+    private OffsetDateTime criadoEm;
+
+    private OffsetDateTime publicadoEm;
+
+    /**
+     * Transação que gravou o evento (default txid_current() no banco)
+     */
+    @Column(insertable = false, updatable = false)
+    private Long transacao;
+
+}
@@ -0,0 +1,38 @@
+package com.example.demo.domain.model.tarefa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totais de tarefas de uma categoria, projetados a partir dos eventos de tarefa (ProjecaoTarefasService)
+ * Pode ficar alguns segundos atrás das escritas
+ */
+@Entity
+@Table(name = "categoria_totais")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoriaTotais {
+
+    @Id
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    private long totalTarefas;
+
+    private long tarefasCompletadas;
+
+    private long pontosCompletados;
+
+    private LocalDateTime atualizadoEm;
+
+}
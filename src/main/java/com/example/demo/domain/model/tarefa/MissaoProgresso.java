@@ -0,0 +1,38 @@
+package com.example.demo.domain.model.tarefa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso de uma missão, projetado a partir dos eventos de tarefa (ProjecaoTarefasService)
+ * Pode ficar alguns segundos atrás das escritas
+ */
+@Entity
+@Table(name = "missao_progresso")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MissaoProgresso {
+
+    @Id
+    @Column(name = "missao_id")
+    private Long missaoId;
+
+    private long totalTarefas;
+
+    private long tarefasCompletadas;
+
+    private long pontosCompletados;
+
+    private LocalDateTime atualizadoEm;
+
+}
@@ -14,14 +14,29 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
+@NamedEntityGraph(name = Tarefa.ASSOCIACOES, attributeNodes = {
+        @NamedAttributeNode("missao"),
+        @NamedAttributeNode("categoria"),
+        @NamedAttributeNode("usuario")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Tarefa {
 
+    /**
+     * Carrega missão, categoria e usuário no mesmo SELECT da tarefa
+     */
+    public static final String ASSOCIACOES = "Tarefa.associacoes";
+
+    /**
+     * Sequence com otimizador pooled: ids reservados em blocos de 50 sem ida ao banco por insert,
+     * o que permite o JDBC batch (IDENTITY obriga um INSERT imediato por entidade)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarefa_seq")
+    @SequenceGenerator(name = "tarefa_seq", sequenceName = "tarefa_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Titúlo da tarefa não pode ser vazio")
@@ -39,15 +54,15 @@ public class Tarefa {
     @PositiveOrZero(message = "Os pontos não podem ser negativos")
     private int points = 10;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "missao_id")
     private MissaoSustentavel missao;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private CategoriaSustentabilidade categoria;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 
@@ -1,7 +1,20 @@
 package com.example.demo.domain.model.usuario;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
     ADMIN,
-    USER
+    USER;
+
+    /**
+     * ADMIN também tem ROLE_USER
+     */
+    public List<GrantedAuthority> authorities() {
+        if (this == ADMIN) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        else return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
 }
 
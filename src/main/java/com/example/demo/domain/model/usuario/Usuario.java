@@ -1,16 +1,15 @@
 package com.example.demo.domain.model.usuario;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 @Entity ( name = "usuario")
 @Table (name = "usuario")
@@ -26,6 +25,7 @@ public class Usuario implements UserDetails {
 
     private String username;
     private String email;
+    @JsonIgnore
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -40,8 +40,7 @@ public class Usuario implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (this.role == UserRole.ADMIN) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
-        else return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return this.role == UserRole.ADMIN ? UserRole.ADMIN.authorities() : UserRole.USER.authorities();
     }
 
     @Override
@@ -49,6 +48,14 @@ public class Usuario implements UserDetails {
         return email;
     }
 
+    /**
+     * Nome do usuário (o getUsername() do UserDetails devolve o e-mail)
+     */
+    @JsonIgnore
+    public String getNome() {
+        return username;
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
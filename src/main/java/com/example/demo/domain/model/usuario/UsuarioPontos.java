@@ -0,0 +1,34 @@
+package com.example.demo.domain.model.usuario;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de pontos de um usuário (soma dos pontos das tarefas completadas)
+ * Escrito apenas por UPSERT incremental (UsuarioPontosRepository.somar) e pela reconciliação
+ */
+@Entity
+@Table(name = "usuario_pontos")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsuarioPontos {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    private long pontos;
+
+    private LocalDateTime atualizadoEm;
+
+}
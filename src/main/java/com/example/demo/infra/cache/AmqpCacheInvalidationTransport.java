@@ -0,0 +1,38 @@
+package com.example.demo.infra.cache;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Transporte via RabbitMQ: exchange fanout com uma fila anônima por nó
+ */
+public class AmqpCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    private volatile Consumer<CacheInvalidationMessage> consumer = message -> { };
+
+    public AmqpCacheInvalidationTransport(RabbitTemplate rabbitTemplate, String exchange) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+    }
+
+    @Override
+    public void publicar(CacheInvalidationMessage message) {
+        rabbitTemplate.convertAndSend(exchange, "", message);
+    }
+
+    @Override
+    public void assinar(Consumer<CacheInvalidationMessage> consumer) {
+        this.consumer = consumer;
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void receber(CacheInvalidationMessage message) {
+        consumer.accept(message);
+    }
+}
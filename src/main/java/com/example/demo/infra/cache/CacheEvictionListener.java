@@ -0,0 +1,21 @@
+package com.example.demo.infra.cache;
+
+/**
+ * Notificado a cada invalidação local de um InstrumentedCaffeineCache
+ */
+public interface CacheEvictionListener {
+
+    CacheEvictionListener NONE = new CacheEvictionListener() {
+        @Override
+        public void onEvict(String cacheName, Object key) {
+        }
+
+        @Override
+        public void onClear(String cacheName) {
+        }
+    };
+
+    void onEvict(String cacheName, Object key);
+
+    void onClear(String cacheName);
+}
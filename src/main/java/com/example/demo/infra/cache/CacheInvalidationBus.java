@@ -0,0 +1,166 @@
+package com.example.demo.infra.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Propaga as invalidações de cache deste nó para as outras réplicas
+ * Cada evict/clear local entra num buffer que é enviado em lote (sem duplicatas)
+ * a cada app.cache.bus.flush-interval-ms; os outros nós aplicam somente localmente
+ * Sem transporte configurado (app.cache.bus.mode=none) não faz nada
+ */
+@Component
+public class CacheInvalidationBus implements CacheEvictionListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheInvalidationTransport transport;
+
+    private final int batchSize;
+
+    private final Queue<CacheInvalidationMessage.Invalidacao> pendentes = new ConcurrentLinkedQueue<>();
+
+    private final Queue<CacheInvalidationMessage.Evento> eventosPendentes = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, Consumer<JsonNode>> handlers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                ObjectMapper objectMapper,
+                                Optional<CacheInvalidationTransport> transport,
+                                @Value("${app.cache.bus.batch-size:500}") int batchSize) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.transport = transport.orElse(null);
+        this.batchSize = batchSize;
+
+        if (this.transport != null) {
+            this.transport.assinar(this::receber);
+            if (cacheManager instanceof InstrumentedCaffeineCacheManager instrumented) {
+                instrumented.setEvictionListener(this);
+            }
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isAtivo() {
+        return transport != null;
+    }
+
+    /**
+     * Registra quem aplica, neste nó, os eventos de um tipo publicados por outros nós
+     */
+    public <T> void registrarEvento(String tipo, Class<T> classe, Consumer<T> handler) {
+        handlers.put(tipo, payload -> handler.accept(objectMapper.convertValue(payload, classe)));
+    }
+
+    /**
+     * Publica um evento para ser reaplicado nos outros nós (ex: alteração de tarefa para o índice de páginas)
+     */
+    public void publicarEvento(String tipo, Object evento) {
+        if (isAtivo()) {
+            eventosPendentes.add(new CacheInvalidationMessage.Evento(tipo, objectMapper.valueToTree(evento)));
+        }
+    }
+
+    @Override
+    public void onEvict(String cacheName, Object key) {
+        if (key instanceof Number || key instanceof String) {
+            pendentes.add(new CacheInvalidationMessage.Invalidacao(cacheName, key, false));
+        } else {
+            // Chaves compostas não viajam de forma confiável: limpa o cache inteiro nos outros nós
+            onClear(cacheName);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        pendentes.add(new CacheInvalidationMessage.Invalidacao(cacheName, null, true));
+    }
+
+    /**
+     * Envia o que estiver pendente, em lotes de até batchSize invalidações
+     */
+    @Scheduled(fixedDelayString = "${app.cache.bus.flush-interval-ms:50}")
+    public void flush() {
+        if (!isAtivo()) {
+            return;
+        }
+        while (!pendentes.isEmpty() || !eventosPendentes.isEmpty()) {
+            Set<CacheInvalidationMessage.Invalidacao> invalidacoes = new LinkedHashSet<>();
+            CacheInvalidationMessage.Invalidacao invalidacao;
+            while (invalidacoes.size() < batchSize && (invalidacao = pendentes.poll()) != null) {
+                invalidacoes.add(invalidacao);
+            }
+            List<CacheInvalidationMessage.Evento> eventos = new ArrayList<>();
+            CacheInvalidationMessage.Evento evento;
+            while (eventos.size() < batchSize && (evento = eventosPendentes.poll()) != null) {
+                eventos.add(evento);
+            }
+            try {
+                transport.publicar(new CacheInvalidationMessage(nodeId, List.copyOf(invalidacoes), eventos));
+            } catch (RuntimeException e) {
+                // Sem broker os outros nós só se atualizam pelo TTL; a escrita local não é afetada
+                System.out.println("⚠️ [CACHE BUS] Falha ao publicar " + invalidacoes.size() + " invalidações: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aplica uma mensagem de outro nó sem republicar
+     */
+    void receber(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.origem())) {
+            return;
+        }
+        message.invalidacoes().forEach(invalidacao -> {
+            Cache cache = cacheManager.getCache(invalidacao.cache());
+            if (cache instanceof InstrumentedCaffeineCache local) {
+                if (invalidacao.todas()) {
+                    local.clearLocal();
+                } else {
+                    local.evictLocal(normalizar(invalidacao.key()));
+                }
+            }
+        });
+        message.eventos().forEach(evento -> {
+            Consumer<JsonNode> handler = handlers.get(evento.tipo());
+            if (handler != null) {
+                handler.accept(evento.payload());
+            }
+        });
+    }
+
+    /**
+     * Ids chegam do JSON como Integer; as chaves locais são Long
+     */
+    private static Object normalizar(Object key) {
+        if (key instanceof Integer inteiro) {
+            return inteiro.longValue();
+        }
+        return key;
+    }
+}
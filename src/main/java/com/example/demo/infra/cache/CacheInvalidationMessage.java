@@ -0,0 +1,28 @@
+package com.example.demo.infra.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Lote de invalidações de um nó, enviado aos demais pelo CacheInvalidationBus
+ * @param origem Id do nó que publicou (o próprio nó ignora a mensagem)
+ * @param invalidacoes Chaves invalidadas ou caches limpos
+ * @param eventos Alterações reaplicadas pelos índices locais de cada nó (ex: TarefaPageCacheIndex)
+ */
+public record CacheInvalidationMessage(
+        String origem,
+        List<Invalidacao> invalidacoes,
+        List<Evento> eventos
+) {
+
+    /**
+     * @param key Chave invalidada (ignorada quando todas = true)
+     * @param todas Se true, limpa o cache inteiro
+     */
+    public record Invalidacao(String cache, Object key, boolean todas) {
+    }
+
+    public record Evento(String tipo, JsonNode payload) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.infra.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Meio de entrega das mensagens do CacheInvalidationBus entre os nós
+ * (AMQP em produção, loopback em memória nos testes)
+ */
+public interface CacheInvalidationTransport {
+
+    void publicar(CacheInvalidationMessage message);
+
+    void assinar(Consumer<CacheInvalidationMessage> consumer);
+}
@@ -0,0 +1,136 @@
+package com.example.demo.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acertos, faltas e tempo de carga por prefixo de chave de cada cache
+ * O Caffeine só mede por cache; aqui separamos 'page:' de 'all' e de ids
+ * Publicado no Micrometer como cache.prefix.gets, cache.prefix.load e cache.prefix.coalesced
+ */
+@Component
+public class CacheKeyPrefixMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, PrefixStats> stats = new ConcurrentHashMap<>();
+
+    public CacheKeyPrefixMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Classifica a chave em um conjunto pequeno de prefixos (cardinalidade limitada nas tags)
+     * - ids numéricos: "id"
+     * - "page:0:size:10": "page:"
+     * - "all": "all"
+     */
+    public static String prefixo(Object key) {
+        if (key instanceof Number) {
+            return "id";
+        }
+        if (key instanceof String chave) {
+            int separador = chave.indexOf(':');
+            if (separador > 0) {
+                return chave.substring(0, separador + 1);
+            }
+            if (chave.equals("all")) {
+                return chave;
+            }
+        }
+        return "other";
+    }
+
+    public void registrarAcesso(String cacheName, Object key, boolean hit) {
+        PrefixStats prefixStats = statsDe(cacheName, prefixo(key));
+        if (hit) {
+            prefixStats.hits.increment();
+        } else {
+            prefixStats.misses.increment();
+        }
+    }
+
+    public void registrarCarga(String cacheName, Object key, long nanos) {
+        statsDe(cacheName, prefixo(key)).loads.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Chamada que esperou a carga de outra thread em vez de ir ao banco (@Cacheable(sync = true))
+     */
+    public void registrarCargaCoalescida(String cacheName, Object key) {
+        statsDe(cacheName, prefixo(key)).coalesced.increment();
+    }
+
+    /**
+     * Estatísticas por prefixo de um cache, para o endpoint /cache/stats
+     */
+    public Map<String, Map<String, Object>> snapshot(String cacheName) {
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        stats.forEach((id, prefixStats) -> {
+            if (!prefixStats.cacheName.equals(cacheName)) {
+                return;
+            }
+            long hits = prefixStats.hits.sum();
+            long misses = prefixStats.misses.sum();
+            Map<String, Object> valores = new LinkedHashMap<>();
+            valores.put("hitCount", hits);
+            valores.put("missCount", misses);
+            valores.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+            valores.put("loadCount", prefixStats.loads.count());
+            valores.put("averageLoadMillis", prefixStats.loads.mean(TimeUnit.MILLISECONDS));
+            valores.put("coalescedCount", prefixStats.coalesced.sum());
+            snapshot.put(prefixStats.prefix, valores);
+        });
+        return snapshot;
+    }
+
+    private PrefixStats statsDe(String cacheName, String prefix) {
+        return stats.computeIfAbsent(cacheName + "|" + prefix, id -> new PrefixStats(cacheName, prefix, meterRegistry));
+    }
+
+    private static final class PrefixStats {
+
+        private final String cacheName;
+        private final String prefix;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final Timer loads;
+
+        private PrefixStats(String cacheName, String prefix, MeterRegistry meterRegistry) {
+            this.cacheName = cacheName;
+            this.prefix = prefix;
+            FunctionCounter.builder("cache.prefix.gets", hits, LongAdder::sum)
+                    .tag("cache", cacheName)
+                    .tag("prefix", prefix)
+                    .tag("result", "hit")
+                    .description("Acertos do cache por prefixo de chave")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.prefix.gets", misses, LongAdder::sum)
+                    .tag("cache", cacheName)
+                    .tag("prefix", prefix)
+                    .tag("result", "miss")
+                    .description("Faltas do cache por prefixo de chave")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.prefix.coalesced", coalesced, LongAdder::sum)
+                    .tag("cache", cacheName)
+                    .tag("prefix", prefix)
+                    .description("Cargas evitadas por esperar a carga em andamento da mesma chave")
+                    .register(meterRegistry);
+            this.loads = Timer.builder("cache.prefix.load")
+                    .tag("cache", cacheName)
+                    .tag("prefix", prefix)
+                    .description("Tempo de carga das entradas por prefixo de chave")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.infra.cache;
+
+import com.example.demo.infra.config.CacheProperties;
+import com.example.demo.service.tarefa.CategoriaSustentabilidadeService;
+import com.example.demo.service.tarefa.MissaoSustentavelService;
+import com.example.demo.service.tarefa.RecompensaService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pré-carrega os caches de dados de referência (categorias, missões, recompensas) na subida
+ * Roda como ApplicationRunner: o Spring Boot só publica o readiness ACCEPTING_TRAFFIC depois dele,
+ * então as primeiras requisições não caem todas no banco ao mesmo tempo
+ * Também é o health "cacheWarmup" (grupo readiness) e publica o tempo em cache.warmup
+ */
+@Component
+public class CacheWarmup implements ApplicationRunner, HealthIndicator {
+
+    private final CacheProperties.Warmup properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Runnable> loaders = new LinkedHashMap<>();
+
+    private final Map<String, String> falhas = new ConcurrentHashMap<>();
+
+    private volatile boolean concluido;
+
+    private volatile long duracaoMillis;
+
+    public CacheWarmup(CacheProperties cacheProperties,
+                       MeterRegistry meterRegistry,
+                       CategoriaSustentabilidadeService categoriaService,
+                       MissaoSustentavelService missaoService,
+                       RecompensaService recompensaService) {
+        this.properties = cacheProperties.getWarmup();
+        this.meterRegistry = meterRegistry;
+        // As chamadas passam pelo proxy do @Cacheable e preenchem os caches
+        loaders.put("categorias", categoriaService::listarTodasCategorias);
+        loaders.put("missoes", missaoService::listarTodasMissoesSustentaveis);
+        loaders.put("recompensas", recompensaService::listarTodasRecompensas);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            concluido = true;
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getCaches().size()));
+        try {
+            CompletableFuture<?>[] tarefas = properties.getCaches().stream()
+                    .map(cache -> CompletableFuture.runAsync(() -> carregar(cache), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(tarefas).get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            falhas.put("timeout", "Pré-carga excedeu " + properties.getTimeout());
+        } catch (Exception e) {
+            falhas.put("erro", String.valueOf(e.getMessage()));
+        } finally {
+            executor.shutdownNow();
+            long nanos = System.nanoTime() - inicio;
+            duracaoMillis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            Timer.builder("cache.warmup")
+                    .description("Tempo da pré-carga dos caches de referência")
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            concluido = true;
+            System.out.println("🔥 [CACHE WARMUP] " + properties.getCaches() + " pré-carregados em " + duracaoMillis + " ms"
+                    + (falhas.isEmpty() ? "" : " com falhas: " + falhas));
+        }
+    }
+
+    private void carregar(String cache) {
+        Runnable loader = loaders.get(cache);
+        if (loader == null) {
+            falhas.put(cache, "Cache sem pré-carga disponível");
+            return;
+        }
+        try {
+            loader.run();
+        } catch (RuntimeException e) {
+            falhas.put(cache, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * OUT_OF_SERVICE enquanto a pré-carga roda; UP depois, mesmo com falhas (o cache carrega sob demanda)
+     */
+    @Override
+    public Health health() {
+        if (!concluido) {
+            return Health.outOfService().withDetail("caches", properties.getCaches()).build();
+        }
+        return Health.up()
+                .withDetail("caches", properties.getCaches())
+                .withDetail("durationMillis", duracaoMillis)
+                .withDetail("failures", falhas)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.infra.cache;
+
+import com.example.demo.domain.model.dto.CursorPageResponse;
+import com.example.demo.domain.model.dto.PageResponse;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Peso aproximado em bytes de uma entrada de cache
+ * Listas e páginas pesam proporcionalmente ao número de elementos,
+ * para que uma lista com milhares de tarefas não conte como uma única entrada
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    private final long entryBytes;
+
+    public CacheWeigher(long entryBytes) {
+        this.entryBytes = entryBytes;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = (elementos(value) + 1) * entryBytes;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long elementos(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (value instanceof PageResponse<?> page) {
+            return page.content().size();
+        }
+        if (value instanceof CursorPageResponse<?> page) {
+            return page.content().size();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CaffeineCache que registra acertos, faltas e tempo de carga por prefixo de chave
+ * e avisa o CacheEvictionListener das invalidações feitas neste nó
+ */
+public class InstrumentedCaffeineCache extends CaffeineCache {
+
+    private final CacheKeyPrefixMetrics metrics;
+
+    private final CacheEvictionListener evictionListener;
+
+    public InstrumentedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues, CacheKeyPrefixMetrics metrics,
+                                     CacheEvictionListener evictionListener) {
+        super(name, cache, allowNullValues);
+        this.metrics = metrics;
+        this.evictionListener = evictionListener;
+    }
+
+    public InstrumentedCaffeineCache(String name, AsyncCache<Object, Object> cache,
+                                     boolean allowNullValues, CacheKeyPrefixMetrics metrics,
+                                     CacheEvictionListener evictionListener) {
+        super(name, cache, allowNullValues);
+        this.metrics = metrics;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Caminho do @Cacheable sem sync
+     * Num cache com loader o get sempre carrega: é acerto só se a chave já estava presente
+     */
+    @Override
+    public ValueWrapper get(Object key) {
+        boolean presente = !(getNativeCache() instanceof LoadingCache) || getNativeCache().asMap().containsKey(key);
+        ValueWrapper value = super.get(key);
+        metrics.registrarAcesso(getName(), key, presente && value != null);
+        return value;
+    }
+
+    /**
+     * Caminho do @Cacheable(sync = true): só é falta quem executou o loader
+     * O Caffeine executa um único loader por chave; quem encontrou a chave ausente
+     * e não carregou recebeu o resultado da carga de outra thread (carga coalescida)
+     */
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean ausente = !getNativeCache().asMap().containsKey(key);
+        AtomicBoolean carregou = new AtomicBoolean();
+        T value = super.get(key, () -> {
+            carregou.set(true);
+            long inicio = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                metrics.registrarCarga(getName(), key, System.nanoTime() - inicio);
+            }
+        });
+        metrics.registrarAcesso(getName(), key, !carregou.get());
+        if (ausente && !carregou.get()) {
+            metrics.registrarCargaCoalescida(getName(), key);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        evictionListener.onEvict(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean presente = super.evictIfPresent(key);
+        evictionListener.onEvict(getName(), key);
+        return presente;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        evictionListener.onClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean presente = super.invalidate();
+        evictionListener.onClear(getName());
+        return presente;
+    }
+
+    /**
+     * Invalida somente neste nó (aplicação de mensagens recebidas de outros nós)
+     */
+    public void evictLocal(Object key) {
+        super.evict(key);
+    }
+
+    /**
+     * Limpa somente neste nó (aplicação de mensagens recebidas de outros nós)
+     */
+    public void clearLocal() {
+        super.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * CaffeineCacheManager que cria InstrumentedCaffeineCache para todos os caches
+ */
+public class InstrumentedCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final CacheKeyPrefixMetrics metrics;
+
+    private volatile CacheEvictionListener evictionListener = CacheEvictionListener.NONE;
+
+    public InstrumentedCaffeineCacheManager(CacheKeyPrefixMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Define quem é avisado das invalidações locais (ex: CacheInvalidationBus)
+     */
+    public void setEvictionListener(CacheEvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    @Override
+    protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+        return new InstrumentedCaffeineCache(name, cache, isAllowNullValues(), metrics, delegate());
+    }
+
+    @Override
+    protected org.springframework.cache.Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+        return new InstrumentedCaffeineCache(name, cache, isAllowNullValues(), metrics, delegate());
+    }
+
+    /**
+     * Os caches são criados antes do listener ser definido: repassam ao listener atual
+     */
+    private CacheEvictionListener delegate() {
+        return new CacheEvictionListener() {
+            @Override
+            public void onEvict(String cacheName, Object key) {
+                evictionListener.onEvict(cacheName, key);
+            }
+
+            @Override
+            public void onClear(String cacheName) {
+                evictionListener.onClear(cacheName);
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.infra.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Refresh-ahead da lista completa de um cache (chave 'all')
+ */
+public class ListCacheLoader implements RefreshAheadCacheLoader {
+
+    public static final String ALL = "all";
+
+    private final String cacheName;
+
+    private final Supplier<? extends List<?>> loader;
+
+    public ListCacheLoader(String cacheName, Supplier<? extends List<?>> loader) {
+        this.cacheName = cacheName;
+        this.loader = loader;
+    }
+
+    @Override
+    public String cacheName() {
+        return cacheName;
+    }
+
+    @Override
+    public CompletableFuture<Object> asyncLoad(Object key, Executor executor) {
+        if (!ALL.equals(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            System.out.println("🔄 [CACHE LOAD] Carregando '" + cacheName + "' pelo loader de refresh-ahead...");
+            return loader.get();
+        }, executor);
+    }
+}
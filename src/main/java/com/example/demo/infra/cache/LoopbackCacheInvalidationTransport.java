@@ -0,0 +1,25 @@
+package com.example.demo.infra.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker em memória que substitui o RabbitMQ (app.cache.bus.mode=loopback)
+ * Entrega cada mensagem, de forma síncrona, a todos os assinantes da mesma instância;
+ * vários CacheInvalidationBus sobre o mesmo transporte simulam vários nós
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidationMessage>> assinantes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(CacheInvalidationMessage message) {
+        assinantes.forEach(assinante -> assinante.accept(message));
+    }
+
+    @Override
+    public void assinar(Consumer<CacheInvalidationMessage> consumer) {
+        assinantes.add(consumer);
+    }
+}
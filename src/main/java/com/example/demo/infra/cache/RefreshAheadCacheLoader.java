@@ -0,0 +1,14 @@
+package com.example.demo.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+
+/**
+ * Loader de um cache com refresh-ahead (app.cache.specs.<nome>.refresh-after-write)
+ * O Caffeine recarrega a entrada em segundo plano, uma única vez por chave,
+ * enquanto os leitores continuam recebendo o valor anterior
+ * Chaves que o loader não conhece devem resultar em null: o método @Cacheable carrega normalmente
+ */
+public interface RefreshAheadCacheLoader extends AsyncCacheLoader<Object, Object> {
+
+    String cacheName();
+}
@@ -0,0 +1,186 @@
+package com.example.demo.infra.collection;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto ordenado de longs com posição (order statistic), em arrays primitivos
+ * Treap (árvore binária de busca com prioridades aleatórias) com tamanho de subárvore em cada nó:
+ * inserir, remover e contar quantos são maiores custam O(log n) esperado;
+ * os n maiores saem em O(log n + n)
+ * Não é thread-safe: quem compartilha sincroniza
+ */
+public class LongRankTree {
+
+    private static final int NULO = 0;
+
+    // Nó 0 é o nulo (tamanho 0); os nós livres são encadeados pelo campo esquerda
+    private long[] chave = new long[16];
+    private int[] esquerda = new int[16];
+    private int[] direita = new int[16];
+    private int[] tamanho = new int[16];
+    private int[] prioridade = new int[16];
+    private int alocados = 1;
+    private int livre = NULO;
+    private int raiz = NULO;
+
+    private int semente = 0x2545F491;
+
+    // Saída do split (evita alocar um par por chamada)
+    private int menores;
+    private int maioresOuIguais;
+
+    public int size() {
+        return tamanho[raiz];
+    }
+
+    public void add(long valor) {
+        int no = novoNo(valor);
+        split(raiz, valor);
+        int a = menores;
+        int b = maioresOuIguais;
+        raiz = merge(merge(a, no), b);
+    }
+
+    public void remove(long valor) {
+        split(raiz, valor);
+        int a = menores;
+        split(maioresOuIguais, valor + 1);
+        int iguais = menores;
+        int b = maioresOuIguais;
+        liberar(iguais);
+        raiz = merge(a, b);
+    }
+
+    /**
+     * Quantos valores são estritamente maiores (posição 0-based em ordem decrescente)
+     */
+    public int countGreaterThan(long valor) {
+        int total = 0;
+        int t = raiz;
+        while (t != NULO) {
+            if (chave[t] > valor) {
+                total += tamanho[direita[t]] + 1;
+                t = esquerda[t];
+            } else {
+                t = direita[t];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Os n maiores valores, em ordem decrescente
+     */
+    public long[] largest(int n) {
+        long[] resultado = new long[Math.min(n, size())];
+        int[] pilha = new int[64];
+        int topo = 0;
+        int t = raiz;
+        int i = 0;
+        while (i < resultado.length && (t != NULO || topo > 0)) {
+            while (t != NULO) {
+                if (topo == pilha.length) {
+                    pilha = Arrays.copyOf(pilha, topo * 2);
+                }
+                pilha[topo++] = t;
+                t = direita[t];
+            }
+            t = pilha[--topo];
+            resultado[i++] = chave[t];
+            t = esquerda[t];
+        }
+        return resultado;
+    }
+
+    /**
+     * Divide t em menores (< valor) e maioresOuIguais (>= valor)
+     */
+    private void split(int t, long valor) {
+        if (t == NULO) {
+            menores = NULO;
+            maioresOuIguais = NULO;
+            return;
+        }
+        if (chave[t] < valor) {
+            split(direita[t], valor);
+            direita[t] = menores;
+            atualizar(t);
+            menores = t;
+        } else {
+            split(esquerda[t], valor);
+            esquerda[t] = maioresOuIguais;
+            atualizar(t);
+            maioresOuIguais = t;
+        }
+    }
+
+    /**
+     * Junta a e b, com todos os valores de a menores que os de b
+     */
+    private int merge(int a, int b) {
+        if (a == NULO) return b;
+        if (b == NULO) return a;
+        if (prioridade[a] > prioridade[b]) {
+            direita[a] = merge(direita[a], b);
+            atualizar(a);
+            return a;
+        }
+        esquerda[b] = merge(a, esquerda[b]);
+        atualizar(b);
+        return b;
+    }
+
+    private void atualizar(int t) {
+        tamanho[t] = tamanho[esquerda[t]] + tamanho[direita[t]] + 1;
+    }
+
+    private int novoNo(long valor) {
+        int no;
+        if (livre != NULO) {
+            no = livre;
+            livre = esquerda[no];
+        } else {
+            if (alocados == chave.length) {
+                crescer();
+            }
+            no = alocados++;
+        }
+        chave[no] = valor;
+        esquerda[no] = NULO;
+        direita[no] = NULO;
+        tamanho[no] = 1;
+        prioridade[no] = proximaPrioridade();
+        return no;
+    }
+
+    /**
+     * Devolve os nós da subárvore para a lista de livres
+     */
+    private void liberar(int t) {
+        if (t == NULO) {
+            return;
+        }
+        liberar(direita[t]);
+        int filho = esquerda[t];
+        esquerda[t] = livre;
+        livre = t;
+        liberar(filho);
+    }
+
+    private void crescer() {
+        int capacidade = chave.length * 2;
+        chave = Arrays.copyOf(chave, capacidade);
+        esquerda = Arrays.copyOf(esquerda, capacidade);
+        direita = Arrays.copyOf(direita, capacidade);
+        tamanho = Arrays.copyOf(tamanho, capacidade);
+        prioridade = Arrays.copyOf(prioridade, capacidade);
+    }
+
+    private int proximaPrioridade() {
+        // xorshift32
+        semente ^= semente << 13;
+        semente ^= semente >>> 17;
+        semente ^= semente << 5;
+        return semente;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.infra.config;
+
+import com.example.demo.infra.cache.AmqpCacheInvalidationTransport;
+import com.example.demo.infra.cache.LoopbackCacheInvalidationTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transporte do barramento de invalidação de cache entre réplicas
+ * app.cache.bus.mode:
+ * - none: cada nó só invalida o próprio cache (padrão)
+ * - amqp: RabbitMQ, exchange fanout com uma fila anônima por nó
+ * - loopback: broker em memória, para testes
+ */
+@Configuration
+public class CacheBusConfig {
+
+    public static final String EXCHANGE = "ecotask.cache.invalidation";
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.bus.mode", havingValue = "loopback")
+    public LoopbackCacheInvalidationTransport loopbackCacheInvalidationTransport() {
+        return new LoopbackCacheInvalidationTransport();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.cache.bus.mode", havingValue = "amqp")
+    static class Amqp {
+
+        @Bean
+        public FanoutExchange cacheInvalidationExchange() {
+            return new FanoutExchange(EXCHANGE, true, false);
+        }
+
+        /**
+         * Fila exclusiva deste nó, removida quando ele desconecta
+         */
+        @Bean
+        public Queue cacheInvalidationQueue() {
+            return new AnonymousQueue();
+        }
+
+        @Bean
+        public Binding cacheInvalidationBinding(Queue cacheInvalidationQueue, FanoutExchange cacheInvalidationExchange) {
+            return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+        }
+
+        @Bean
+        public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+            Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+            converter.setAlwaysConvertToInferredType(true);
+            return converter;
+        }
+
+        @Bean
+        public AmqpCacheInvalidationTransport amqpCacheInvalidationTransport(RabbitTemplate rabbitTemplate) {
+            return new AmqpCacheInvalidationTransport(rabbitTemplate, EXCHANGE);
+        }
+    }
+}
@@ -1,49 +1,96 @@
 package com.example.demo.infra.config;
 
+import com.example.demo.infra.cache.CacheKeyPrefixMetrics;
+import com.example.demo.infra.cache.CacheWeigher;
+import com.example.demo.infra.cache.InstrumentedCaffeineCacheManager;
+import com.example.demo.infra.cache.RefreshAheadCacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final List<String> CACHE_NAMES = List.of(
+            "tarefas",           // Cache para lista de tarefas
+            "tarefa",            // Cache para tarefa individual
+            "categorias",        // Cache para lista de categorias
+            "categoria",         // Cache para categoria individual
+            "recompensa",
+            "recompensas",
+            "missao",
+            "missoes",
+            "usuarios",          // Cache para lista de usuários
+            "usuario",           // UsuarioSnapshot por id (sem o hash da senha)
+            "feed",              // Tarefas recentes por usuário (GET /me/tarefas)
+            "principal"          // Usuário autenticado por subject do token (SecurityFilter)
+    );
+
     /**
      * Configuração do CacheManager usando Caffeine
+     * Cada cache recebe a sua própria política (app.cache.specs.<nome>)
+     * e registra métricas por prefixo de chave (CacheKeyPrefixMetrics)
+     * Caches com refresh-after-write e loader registrado viram AsyncLoadingCache (refresh-ahead)
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "tarefas",           // Cache para lista de tarefas
-                "tarefa",            // Cache para tarefa individual
-                "categorias",        // Cache para lista de categorias
-                "categoria",         // Cache para categoria individual
-                "recompensa",
-                "recompensas",
-                "missao",
-                "missoes",
-                "usuarios"           // Cache para lista de usuários
-        );
-        
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CacheManager cacheManager(CacheProperties properties, CacheKeyPrefixMetrics metrics,
+                                     List<RefreshAheadCacheLoader> loaders) {
+        Map<String, RefreshAheadCacheLoader> loadersPorCache = loaders.stream()
+                .collect(Collectors.toMap(RefreshAheadCacheLoader::cacheName, Function.identity()));
+
+        CaffeineCacheManager cacheManager = new InstrumentedCaffeineCacheManager(metrics);
+        CACHE_NAMES.forEach(name -> {
+            CacheProperties.Spec spec = properties.resolve(name);
+            RefreshAheadCacheLoader loader = loadersPorCache.get(name);
+            Caffeine<Object, Object> builder = caffeineCacheBuilder(spec);
+
+            if (spec.getRefreshAfterWrite() != null && loader != null) {
+                // Entrada vencida continua sendo servida enquanto uma única recarga roda em segundo plano
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                cacheManager.registerCustomCache(name, builder.buildAsync(loader));
+            } else {
+                if (spec.getRefreshAfterWrite() != null) {
+                    System.out.println("⚠️ [CACHE] refreshAfterWrite ignorado para '" + name + "': cache sem loader registrado");
+                }
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
+
+        // Somente os caches acima: nenhum cache é criado dinamicamente
+        cacheManager.setCacheNames(List.of());
         return cacheManager;
     }
 
     /**
-     * Configuração do Caffeine Cache
-     * - Tamanho máximo: 500 itens por cache
-     * - TTL (Time To Live): 10 minutos
-     * - Expira após acesso: 5 minutos (se não for acessado)
+     * Configuração do Caffeine Cache a partir da spec do cache
+     * - Limite por bytes estimados (maximumWeight + weigher) ou por número de itens (maximumSize)
+     * - TTL (expireAfterWrite) e expiração por inatividade (expireAfterAccess)
      */
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
-                .maximumSize(500)                    // Máximo de 500 itens no cache
-                .expireAfterWrite(10, TimeUnit.MINUTES)  // Expira após 10 minutos sem escrita
-                .expireAfterAccess(5, TimeUnit.MINUTES)  // Expira após 5 minutos sem acesso
+    private Caffeine<Object, Object> caffeineCacheBuilder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .recordStats();                      // Registra estatísticas do cache
+
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight().toBytes())
+                    .weigher(new CacheWeigher(spec.getEntryWeight().toBytes()));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
     }
 }
-
@@ -0,0 +1,116 @@
+package com.example.demo.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Políticas do Caffeine por cache (prefixo app.cache)
+ * Cada cache em "specs" herda de "defaults" os campos que não definir
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    /**
+     * Peso por elemento quando nem a spec nem os defaults definem entry-weight
+     */
+    public static final DataSize DEFAULT_ENTRY_WEIGHT = DataSize.ofKilobytes(1);
+
+    private Spec defaults = Spec.comEntryWeight(DEFAULT_ENTRY_WEIGHT);
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    private Warmup warmup = new Warmup();
+
+    /**
+     * Resolve a política efetiva de um cache, combinando a sua spec com os defaults
+     * O limite (tamanho ou peso) vem inteiro de um dos dois, nunca misturado
+     */
+    public Spec resolve(String cacheName) {
+        Spec spec = specs.getOrDefault(cacheName, new Spec());
+        Spec resolved = new Spec();
+
+        Spec limite = spec.hasBound() ? spec : defaults;
+        resolved.setMaximumSize(limite.getMaximumSize());
+        resolved.setMaximumWeight(limite.getMaximumWeight());
+
+        resolved.setEntryWeight(firstNonNull(spec.getEntryWeight(), firstNonNull(defaults.getEntryWeight(), DEFAULT_ENTRY_WEIGHT)));
+        resolved.setExpireAfterWrite(firstNonNull(spec.getExpireAfterWrite(), defaults.getExpireAfterWrite()));
+        resolved.setExpireAfterAccess(firstNonNull(spec.getExpireAfterAccess(), defaults.getExpireAfterAccess()));
+        resolved.setRefreshAfterWrite(firstNonNull(spec.getRefreshAfterWrite(), defaults.getRefreshAfterWrite()));
+        return resolved;
+    }
+
+    private static <T> T firstNonNull(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+
+        /**
+         * Limite por número de entradas
+         */
+        private Long maximumSize;
+
+        /**
+         * Limite por bytes estimados (tem precedência sobre maximumSize)
+         */
+        private DataSize maximumWeight;
+
+        /**
+         * Bytes estimados por elemento; uma lista pesa (n + 1) elementos
+         * Sem valor padrão aqui: null herda de app.cache.defaults.entry-weight (1KB se omitido)
+         */
+        private DataSize entryWeight;
+
+        private Duration expireAfterWrite;
+
+        private Duration expireAfterAccess;
+
+        /**
+         * Recarga em segundo plano; só vale para caches com loader registrado
+         */
+        private Duration refreshAfterWrite;
+
+        static Spec comEntryWeight(DataSize entryWeight) {
+            Spec spec = new Spec();
+            spec.setEntryWeight(entryWeight);
+            return spec;
+        }
+
+        boolean hasBound() {
+            return maximumSize != null || maximumWeight != null;
+        }
+    }
+
+    /**
+     * Pré-carga dos caches na subida, antes do readiness ficar UP
+     */
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        private boolean enabled = true;
+
+        /**
+         * Caches pré-carregados, em paralelo
+         */
+        private List<String> caches = new ArrayList<>(List.of("categorias", "missoes", "recompensas"));
+
+        /**
+         * Tempo máximo de espera; depois disso a aplicação sobe mesmo assim
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.infra.config;
+
+import com.example.demo.infra.outbox.AmqpOutboxTransport;
+import com.example.demo.infra.outbox.LoopbackOutboxTransport;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transporte do OutboxRelay
+ * app.outbox.relay.mode:
+ * - none: eventos ficam só gravados no outbox (padrão)
+ * - amqp: RabbitMQ, exchange topic com routing key = tipo do evento (ex: "tarefa.criada")
+ * - loopback: broker em memória, para testes
+ */
+@Configuration
+public class OutboxConfig {
+
+    public static final String EXCHANGE = "ecotask.eventos";
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.relay.mode", havingValue = "loopback")
+    public LoopbackOutboxTransport loopbackOutboxTransport() {
+        return new LoopbackOutboxTransport();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.outbox.relay.mode", havingValue = "amqp")
+    static class Amqp {
+
+        /**
+         * Durável: consumidores (notificações, analytics) ligam as próprias filas por routing key
+         */
+        @Bean
+        public TopicExchange eventosExchange() {
+            return new TopicExchange(EXCHANGE, true, false);
+        }
+
+        @Bean
+        public AmqpOutboxTransport amqpOutboxTransport(RabbitTemplate rabbitTemplate,
+                                                       @Value("${app.outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+            return new AmqpOutboxTransport(rabbitTemplate, EXCHANGE, confirmTimeoutMs);
+        }
+    }
+}
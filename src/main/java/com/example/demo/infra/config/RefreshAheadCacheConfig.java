@@ -0,0 +1,33 @@
+package com.example.demo.infra.config;
+
+import com.example.demo.infra.cache.ListCacheLoader;
+import com.example.demo.infra.cache.RefreshAheadCacheLoader;
+import com.example.demo.repository.CategoriaSustentabilidadeRepository;
+import com.example.demo.repository.MissaoSustentavelRepository;
+import com.example.demo.repository.RecompensaRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Loaders de refresh-ahead das listas de referência cacheadas em service.tarefa
+ * (listarTodasCategorias, listarTodasMissoesSustentaveis, listarTodasRecompensas)
+ * Carregam o mesmo que o corpo desses métodos, direto do repositório
+ */
+@Configuration
+public class RefreshAheadCacheConfig {
+
+    @Bean
+    public RefreshAheadCacheLoader categoriasCacheLoader(CategoriaSustentabilidadeRepository repository) {
+        return new ListCacheLoader("categorias", repository::findAll);
+    }
+
+    @Bean
+    public RefreshAheadCacheLoader missoesCacheLoader(MissaoSustentavelRepository repository) {
+        return new ListCacheLoader("missoes", repository::findAll);
+    }
+
+    @Bean
+    public RefreshAheadCacheLoader recompensasCacheLoader(RecompensaRepository repository) {
+        return new ListCacheLoader("recompensas", repository::findAll);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.infra.config;
 
+import com.example.demo.infra.persistence.SqlStatementBudgetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -8,6 +10,9 @@ import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Autowired
+    SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor;
+
     /**
      * Configura o interceptor para detectar mudanças de locale via header Accept-Language
      */
@@ -16,6 +21,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
         LocaleChangeInterceptor localeChangeInterceptor = new LocaleChangeInterceptor();
         localeChangeInterceptor.setParamName("lang"); // Parâmetro opcional para mudança de locale via query string
         registry.addInterceptor(localeChangeInterceptor);
+
+        // Orçamento de comandos SQL por requisição (detecção de N+1)
+        registry.addInterceptor(sqlStatementBudgetInterceptor);
     }
 }
 
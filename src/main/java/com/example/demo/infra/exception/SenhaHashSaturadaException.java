@@ -0,0 +1,11 @@
+package com.example.demo.infra.exception;
+
+/**
+ * Fila do SenhaHashExecutor cheia: a requisição é recusada na hora (503) em vez de esperar por CPU
+ */
+public class SenhaHashSaturadaException extends RuntimeException {
+
+    public SenhaHashSaturadaException(String message) {
+        super(message);
+    }
+}
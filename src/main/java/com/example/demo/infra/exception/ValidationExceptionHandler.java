@@ -3,6 +3,7 @@ package com.example.demo.infra.exception;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -128,6 +129,21 @@ public class ValidationExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Trata fila do BCrypt cheia (SenhaHashExecutor): 503 com Retry-After para o cliente tentar de novo
+     */
+    @ExceptionHandler(SenhaHashSaturadaException.class)
+    public ResponseEntity<Map<String, Object>> handleSenhaHashSaturadaException(SenhaHashSaturadaException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("message", messageSource.getMessage("auth.busy", null, LocaleContextHolder.getLocale()));
+        response.put("timestamp", java.time.LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * Trata exceções de autenticação (credenciais inválidas)
      */
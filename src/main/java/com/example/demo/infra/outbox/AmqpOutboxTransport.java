@@ -0,0 +1,54 @@
+package com.example.demo.infra.outbox;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Publica no exchange topic de eventos com publisher confirms
+ * O lote inteiro sai no mesmo canal e espera uma única rodada de confirmações
+ * (requer spring.rabbitmq.publisher-confirm-type=simple)
+ */
+public class AmqpOutboxTransport implements OutboxTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    private final long confirmTimeoutMs;
+
+    public AmqpOutboxTransport(RabbitTemplate rabbitTemplate, String exchange, long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @Override
+    public void publicar(List<EventoOutbox> eventos) {
+        rabbitTemplate.invoke(operacoes -> {
+            eventos.forEach(evento -> operacoes.send(exchange, evento.getTipo(), mensagem(evento)));
+            // Nack ou timeout lançam AmqpException: nada é marcado como publicado
+            operacoes.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    /**
+     * messageId é o id do outbox: consumidores descartam reentregas de um lote reenviado
+     */
+    private static Message mensagem(EventoOutbox evento) {
+        return MessageBuilder.withBody(evento.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(evento.getId()))
+                .setType(evento.getTipo())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.infra.outbox;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broker em memória que substitui o RabbitMQ (app.outbox.relay.mode=loopback)
+ * Guarda as mensagens confirmadas; desconectado, recusa o lote como um nack do broker
+ */
+public class LoopbackOutboxTransport implements OutboxTransport {
+
+    private final List<EventoOutbox> recebidos = new CopyOnWriteArrayList<>();
+
+    private volatile boolean conectado = true;
+
+    @Override
+    public void publicar(List<EventoOutbox> eventos) {
+        if (!conectado) {
+            throw new IllegalStateException("Loopback broker unavailable");
+        }
+        recebidos.addAll(eventos);
+    }
+
+    public List<EventoOutbox> getRecebidos() {
+        return List.copyOf(recebidos);
+    }
+
+    public void setConectado(boolean conectado) {
+        this.conectado = conectado;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.infra.outbox;
+
+/**
+ * Evento a gravar no outbox
+ * @param tipo Tipo do evento, usado também como routing key no AMQP (ex: "tarefa.criada")
+ * @param agregadoId Id da entidade de origem
+ * @param payload Objeto serializado em JSON
+ */
+public record OutboxEvento(
+        String tipo,
+        Long agregadoId,
+        Object payload
+) {
+}
@@ -0,0 +1,100 @@
+package com.example.demo.infra.outbox;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import com.example.demo.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena o outbox para o broker em lotes de até app.outbox.relay.batch-size eventos
+ * Cada lote: SELECT ... FOR UPDATE SKIP LOCKED, publicação com confirmação e UPDATE dos publicados,
+ * tudo na mesma transação; se o broker não confirmar, nada é marcado e o lote volta na próxima rodada
+ * (entrega at-least-once, o messageId permite descartar duplicatas)
+ * Sem transporte configurado (app.outbox.relay.mode=none) os eventos só ficam gravados
+ */
+@Component
+public class OutboxRelay {
+
+    private final EventoOutboxRepository repository;
+
+    private final OutboxTransport transport;
+
+    private final TransactionOperations transacao;
+
+    private final int batchSize;
+
+    private final Counter publicados;
+
+    private final Counter falhas;
+
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public OutboxRelay(EventoOutboxRepository repository,
+                       Optional<OutboxTransport> transport,
+                       TransactionOperations transacao,
+                       MeterRegistry registry,
+                       @Value("${app.outbox.relay.batch-size:100}") int batchSize) {
+        this.repository = repository;
+        this.transport = transport.orElse(null);
+        this.transacao = transacao;
+        this.batchSize = batchSize;
+        this.publicados = Counter.builder("outbox.published")
+                .description("Eventos do outbox confirmados pelo broker")
+                .register(registry);
+        this.falhas = Counter.builder("outbox.publish.failures")
+                .description("Lotes do outbox recusados ou não confirmados pelo broker")
+                .register(registry);
+        Gauge.builder("outbox.pending", pendentes, AtomicLong::get)
+                .description("Eventos pendentes na última rodada do relay")
+                .register(registry);
+    }
+
+    public boolean isAtivo() {
+        return transport != null;
+    }
+
+    /**
+     * Publica lotes até esvaziar o outbox ou o broker falhar
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void drenar() {
+        if (!isAtivo()) {
+            return;
+        }
+        int publicadosNoLote;
+        do {
+            publicadosNoLote = transacao.execute(status -> publicarLote());
+        } while (publicadosNoLote == batchSize);
+        pendentes.set(repository.contarPendentes());
+    }
+
+    /**
+     * @return Eventos publicados (0 se não havia pendentes ou se o broker falhou)
+     */
+    int publicarLote() {
+        List<EventoOutbox> lote = repository.findPendentes(batchSize);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        try {
+            transport.publicar(lote);
+        } catch (RuntimeException e) {
+            falhas.increment();
+            System.out.println("⚠️ [OUTBOX] Falha ao publicar " + lote.size() + " eventos: " + e.getMessage());
+            return 0;
+        }
+        repository.marcarPublicados(lote.stream().map(EventoOutbox::getId).toList(), OffsetDateTime.now());
+        publicados.increment(lote.size());
+        return lote.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.infra.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Retenção do evento_outbox: apaga, em lotes, os eventos mais antigos que app.outbox.retencao.periodo que
+ * - já foram publicados (ou não há transporte configurado, então ninguém vai publicá-los)
+ * - já foram aplicados por todos os consumidores de projeção (projecao_offset)
+ * O replay das projeções reconstrói a partir das tarefas, então não precisa do log apagado
+ */
+@Component
+public class OutboxRetencao {
+
+    private static final String APAGAR_LOTE = """
+            DELETE FROM evento_outbox
+            WHERE id IN (
+                SELECT e.id FROM evento_outbox e
+                WHERE e.criado_em < now() - make_interval(secs => ?)
+                  AND (e.publicado_em IS NOT NULL OR ?)
+                  AND NOT EXISTS (
+                      SELECT 1 FROM projecao_offset o
+                      WHERE NOT ((e.transacao, e.id) <= (o.ultima_transacao, o.ultimo_evento_id)
+                                 OR txid_visible_in_snapshot(e.transacao, CAST(o.snapshot_base AS txid_snapshot)))
+                  )
+                ORDER BY e.id
+                LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final OutboxRelay relay;
+
+    private final Duration periodo;
+
+    private final int batchSize;
+
+    public OutboxRetencao(JdbcTemplate jdbcTemplate,
+                          OutboxRelay relay,
+                          @Value("${app.outbox.retencao.periodo:7d}") Duration periodo,
+                          @Value("${app.outbox.retencao.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.relay = relay;
+        this.periodo = periodo;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Cada lote é um DELETE curto em transação própria
+     * @return Eventos apagados
+     */
+    @Scheduled(cron = "${app.outbox.retencao.cron:0 30 3 * * *}")
+    public int limpar() {
+        long inicio = System.currentTimeMillis();
+        int total = 0;
+        int apagados;
+        do {
+            apagados = jdbcTemplate.update(APAGAR_LOTE, (double) periodo.toSeconds(), !relay.isAtivo(), batchSize);
+            total += apagados;
+        } while (apagados == batchSize);
+        System.out.println("🧹 [OUTBOX] " + total + " eventos anteriores a " + periodo + " removidos em "
+                + (System.currentTimeMillis() - inicio) + "ms");
+        return total;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.infra.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Grava eventos no outbox dentro da transação da escrita que os gerou
+ * Só um INSERT local: a escrita nunca espera pelo broker, quem publica é o OutboxRelay
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT = "INSERT INTO evento_outbox (tipo, agregado_id, payload) VALUES (?, ?, CAST(? AS jsonb))";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Exige transação ativa: o evento só existe se a escrita for confirmada
+     * Os inserts saem em JDBC batch (lotes de POST /tarefas/batch geram um evento por tarefa)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(List<OutboxEvento> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        List<Object[]> linhas = eventos.stream()
+                .map(evento -> new Object[]{evento.tipo(), evento.agregadoId(), json(evento.payload())})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT, linhas);
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.infra.outbox;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox (AMQP em produção, loopback em memória nos testes)
+ */
+public interface OutboxTransport {
+
+    /**
+     * Publica o lote e só retorna depois da confirmação do broker
+     * Lança exceção se algum evento não for confirmado: o lote inteiro é reenviado depois
+     */
+    void publicar(List<EventoOutbox> eventos);
+}
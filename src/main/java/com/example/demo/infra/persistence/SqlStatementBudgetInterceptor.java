@@ -0,0 +1,61 @@
+package com.example.demo.infra.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Orçamento de comandos SQL por requisição (app.sql.budget.max-statements)
+ * Requisições acima do orçamento são registradas no log e no contador sql.budget.exceeded,
+ * por padrão de URI: sinal de N+1 ou de consultas que deveriam ter sido agrupadas
+ */
+@Component
+public class SqlStatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxStatements;
+
+    public SqlStatementBudgetInterceptor(MeterRegistry meterRegistry,
+                                         @Value("${app.sql.budget.max-statements:10}") int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = SqlStatementCounter.encerrar();
+        if (statements <= maxStatements) {
+            return;
+        }
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        System.out.println("⚠️ [SQL BUDGET] " + request.getMethod() + " " + uri + " executou "
+                + statements + " comandos SQL (orçamento: " + maxStatements + ")");
+        Counter.builder("sql.budget.exceeded")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .description("Requisições que excederam o orçamento de comandos SQL")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Streaming (StreamingResponseBody) continua em outra thread: não entra no orçamento
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.encerrar();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.infra.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread da requisição
+ * Só conta entre iniciar() e encerrar(): jobs agendados e threads de fundo ficam de fora
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem da thread atual
+     * @return Comandos executados desde iniciar() (0 se a contagem não estava ativa)
+     */
+    public static int encerrar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador != null ? contador[0] : 0;
+    }
+}
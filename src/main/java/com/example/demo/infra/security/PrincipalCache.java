@@ -0,0 +1,59 @@
+package com.example.demo.infra.security;
+
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
+import com.example.demo.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Principal das requisições autenticadas, por subject do token (e-mail), no cache "principal"
+ * Guarda só UsuarioSnapshot (id, nome, e-mail, role), nunca o hash da senha
+ * Limitado por tamanho e TTL (app.cache.specs.principal.*) e invalidado pelo UsuarioService ao editar ou excluir
+ * E-mail sem usuário não é cacheado: um cadastro novo já autentica na requisição seguinte
+ */
+@Component
+public class PrincipalCache {
+
+    public static final String CACHE = "principal";
+
+    @Autowired
+    UsuarioRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    public Optional<UsuarioSnapshot> buscar(String email) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache != null) {
+            UsuarioSnapshot principal = cache.get(email, UsuarioSnapshot.class);
+            if (principal != null) {
+                return Optional.of(principal);
+            }
+        }
+        Optional<UsuarioSnapshot> principal = repository.findSnapshotByEmail(email);
+        if (cache != null) {
+            principal.ifPresent(usuario -> cache.put(email, usuario));
+        }
+        return principal;
+    }
+
+    /**
+     * Remove os subjects informados (e-mails null são ignorados)
+     */
+    public void invalidar(String... emails) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+            return;
+        }
+        Arrays.stream(emails)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(cache::evict);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.infra.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,16 +34,24 @@ public class SecurityConfiguration {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Habilita CORS
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Dispatch assíncrono (ex: streaming de /tarefas/export) já foi autorizado na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Permite todos os endpoints de auth sem autenticação
                         .requestMatchers("/auth/**").permitAll()
                         // Endpoints de cache - apenas ADMIN
                         .requestMatchers("/cache/**").hasRole("ADMIN")
+                        // Probes de liveness/readiness - públicos para o orquestrador
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Métricas do actuator - apenas ADMIN
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Status e replay das projeções - apenas ADMIN
+                        .requestMatchers("/projecoes/**").hasRole("ADMIN")
                         // Operações de escrita (POST, PUT, DELETE) precisam de ADMIN
                         .requestMatchers(HttpMethod.POST, "/tarefas", "/tarefas/**", "/categorias", "/categorias/**", "/usuarios", "/usuarios/**", "/recompensas", "/recompensas/**", "/missoes", "/missoes/**", "/api/assistant", "/api/assistant/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/tarefas/**", "/categorias/**", "/usuarios", "/usuarios/**", "/recompensas", "/recompensas/**", "/missoes", "/missoes/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/tarefas/**", "/categorias/**", "/usuarios", "/usuarios/**", "/recompensas", "/recompensas/**", "/missoes", "/missoes/**").hasRole("ADMIN")
                         // Operações de leitura (GET) precisam apenas de autenticação
-                        .requestMatchers(HttpMethod.GET, "/tarefas", "/tarefas/**", "/categorias", "/categorias/**", "/usuarios", "/usuarios/**", "/recompensas", "/recompensas/**", "/missoes", "/missoes/**", "/api/v1/plano-missao").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/tarefas", "/tarefas/**", "/categorias", "/categorias/**", "/usuarios", "/usuarios/**", "/recompensas", "/recompensas/**", "/missoes", "/missoes/**", "/me/**", "/api/v1/plano-missao").authenticated()
                         // Qualquer outra requisição precisa de autenticação
                         .anyRequest().authenticated())
                 .httpBasic(httpBasic -> httpBasic.disable()) // Desabilita HTTP Basic
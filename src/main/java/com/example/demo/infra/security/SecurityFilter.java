@@ -1,7 +1,6 @@
 package com.example.demo.infra.security;
 
-import com.example.demo.domain.model.usuario.Usuario;
-import com.example.demo.repository.UsuarioRepository;
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +20,7 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
 
     @Autowired
-    UsuarioRepository userRepository;
+    PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -32,19 +31,18 @@ public class SecurityFilter extends OncePerRequestFilter {
                 var email = tokenService.validateToken(token);
                 // Só autentica se o token for válido (email não está vazio)
                 if (email != null && !email.isEmpty()) {
-                    // Buscar o usuário completo do banco usando o método específico
-                    // Isso garante que o campo 'role' seja carregado corretamente
-                    var usuarioOptional = userRepository.findUsuarioByEmail(email);
-                    
+                    // Principal em cache (sem o hash da senha): com o cache quente, nenhuma ida ao banco
+                    var usuarioOptional = principalCache.buscar(email);
+
                     if (usuarioOptional.isPresent()) {
-                        Usuario usuario = usuarioOptional.get();
+                        UsuarioSnapshot usuario = usuarioOptional.get();
                         // Verificar se o usuário tem role (não é null)
-                        if (usuario.getRole() != null) {
+                        if (usuario.role() != null) {
                             // Garantir que o usuário tenha as authorities corretas
                             var authentication = new UsernamePasswordAuthenticationToken(
-                                    usuario, 
-                                    null, 
-                                    usuario.getAuthorities()
+                                    usuario,
+                                    null,
+                                    usuario.authorities()
                             );
                             SecurityContextHolder.getContext().setAuthentication(authentication);
                         }
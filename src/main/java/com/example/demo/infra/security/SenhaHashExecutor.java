@@ -0,0 +1,118 @@
+package com.example.demo.infra.security;
+
+import com.example.demo.infra.exception.SenhaHashSaturadaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado ao BCrypt (hash no cadastro/edição e verificação no login), fora das threads do Tomcat
+ * Só roda encode/matches: busca e gravação do usuário ficam com quem chama, para I/O não ocupar as threads de CPU
+ * Threads limitadas aos núcleos (app.security.hash.threads, 0 = availableProcessors) e fila limitada
+ * (app.security.hash.queue-capacity); com a fila cheia a submissão falha na hora com SenhaHashSaturadaException (503)
+ * Métricas: auth.hash.duration (por operação), auth.hash.queue, auth.hash.active e auth.hash.rejected
+ */
+@Component
+public class SenhaHashExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry registry;
+
+    private final Counter rejeitadas;
+
+    /** Hash comparado quando o usuário não existe, para o login levar o mesmo tempo nos dois casos */
+    private volatile String hashUsuarioInexistente;
+
+    public SenhaHashExecutor(PasswordEncoder passwordEncoder,
+                             MeterRegistry registry,
+                             @Value("${app.security.hash.threads:0}") int threads,
+                             @Value("${app.security.hash.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.registry = registry;
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "senha-hash-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejeitadas = Counter.builder("auth.hash.rejected")
+                .description("Operações de senha recusadas com a fila cheia (503)")
+                .register(registry);
+        Gauge.builder("auth.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Operações de senha aguardando uma thread")
+                .register(registry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operações de senha em execução")
+                .register(registry);
+    }
+
+    /**
+     * Gera o hash da senha no pool
+     */
+    public CompletableFuture<String> encode(CharSequence senha) {
+        return executar("encode", () -> passwordEncoder.encode(senha));
+    }
+
+    /**
+     * Confere a senha no pool; hash null (usuário inexistente) gasta o mesmo BCrypt e devolve false
+     */
+    public CompletableFuture<Boolean> matches(CharSequence senha, String hash) {
+        return executar("matches", () -> {
+            if (hash == null) {
+                passwordEncoder.matches(senha, hashUsuarioInexistente());
+                return false;
+            }
+            return passwordEncoder.matches(senha, hash);
+        });
+    }
+
+    /**
+     * Executa no pool uma operação dominada pelo BCrypt, sem acesso a banco
+     * A duração medida inclui só a execução, não o tempo na fila (esse aparece em auth.hash.queue)
+     */
+    public <T> CompletableFuture<T> executar(String operacao, Supplier<T> tarefa) {
+        Timer timer = Timer.builder("auth.hash.duration")
+                .description("Duração das operações de senha no pool dedicado")
+                .tag("operation", operacao)
+                .register(registry);
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(tarefa), executor);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            System.out.println("⚠️ [SENHA HASH] Fila cheia (" + executor.getQueue().size() + "), recusando " + operacao);
+            throw new SenhaHashSaturadaException("Password hashing queue is full");
+        }
+    }
+
+    private String hashUsuarioInexistente() {
+        if (hashUsuarioInexistente == null) {
+            hashUsuarioInexistente = passwordEncoder.encode("usuario-inexistente");
+        }
+        return hashUsuarioInexistente;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -1,28 +1,67 @@
 package com.example.demo.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.demo.domain.model.usuario.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "auth-api";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${app.security.token-cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: montados uma vez só
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    /**
+     * Tokens já verificados, pelo SHA-256 do token; cada entrada vence junto com o exp do próprio token
+     */
+    private Cache<String, TokenVerificado> verificados;
+
+    private record TokenVerificado(String subject, Instant expiraEm) {}
+
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        verificados = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaximumSize)
+                .expireAfter(Expiry.creating((String chave, TokenVerificado token) ->
+                        Duration.between(Instant.now(), token.expiraEm())))
+                .build();
+    }
+
     public String generateToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
-                    .withIssuer("auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getEmail())
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
@@ -33,13 +72,18 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
+        String chave = digest(token);
+        TokenVerificado verificado = verificados.getIfPresent(chave);
+        if (verificado != null && verificado.expiraEm().isAfter(Instant.now())) {
+            return verificado.subject();
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            // Tokens sem exp não entram no cache: não há limite para a validade da entrada
+            if (decoded.getExpiresAtAsInstant() != null && decoded.getSubject() != null) {
+                verificados.put(chave, new TokenVerificado(decoded.getSubject(), decoded.getExpiresAtAsInstant()));
+            }
+            return decoded.getSubject();
         } catch(JWTVerificationException exception) {
             return ""; //vai estar vazio pois vai dar erro no token
         }
@@ -48,4 +92,13 @@ public class TokenService {
     private Instant genExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.tarefa.CategoriaTotais;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoriaTotaisRepository extends JpaRepository<CategoriaTotais, Long> {
+}
@@ -0,0 +1,70 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Próximos eventos pendentes, travados até o fim da transação do relay
+     * SKIP LOCKED: réplicas rodando o relay ao mesmo tempo pegam lotes diferentes
+     */
+    @Query(value = """
+            SELECT * FROM evento_outbox
+            WHERE publicado_em IS NULL
+            ORDER BY id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EventoOutbox> findPendentes(@Param("limite") int limite);
+
+    /**
+     * Eventos de tarefa depois da posição de um consumidor, publicados ou não, em ordem (transacao, id)
+     * Candidatos: o corte no horizonte e no snapshot base fica no PosicaoProjecao
+     */
+    @Query(value = """
+            SELECT * FROM evento_outbox
+            WHERE (transacao, id) > (:transacao, :id)
+              AND tipo LIKE 'tarefa.%'
+            ORDER BY transacao, id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<EventoOutbox> findEventosTarefaApos(@Param("transacao") long transacao,
+                                             @Param("id") long id,
+                                             @Param("limite") int limite);
+
+    /**
+     * Eventos de tarefa depois da posição que o consumidor ainda vai aplicar (fora do snapshot base)
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM evento_outbox
+            WHERE (transacao, id) > (:transacao, :id)
+              AND tipo LIKE 'tarefa.%'
+              AND NOT txid_visible_in_snapshot(transacao, CAST(:snapshotBase AS txid_snapshot))
+            """, nativeQuery = true)
+    long contarEventosTarefaApos(@Param("transacao") long transacao,
+                                 @Param("id") long id,
+                                 @Param("snapshotBase") String snapshotBase);
+
+    /**
+     * xmin do snapshot atual: toda transação abaixo dele já terminou (commit ou rollback)
+     */
+    @Query(value = "SELECT txid_snapshot_xmin(txid_current_snapshot())", nativeQuery = true)
+    long horizonteTransacoes();
+
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.publicadoEm = :agora WHERE e.id IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("agora") OffsetDateTime agora);
+
+    @Query(value = "SELECT COUNT(*) FROM evento_outbox WHERE publicado_em IS NULL", nativeQuery = true)
+    long contarPendentes();
+}
@@ -0,0 +1,9 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.tarefa.MissaoProgresso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MissaoProgressoRepository extends JpaRepository<MissaoProgresso, Long> {
+}
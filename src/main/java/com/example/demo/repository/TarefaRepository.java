@@ -1,9 +1,263 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.dto.usuario.PontosDelta;
 import com.example.demo.domain.model.tarefa.Tarefa;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
+public interface TarefaRepository extends JpaRepository<Tarefa, Long>, JpaSpecificationExecutor<Tarefa>, TarefaSnapshotRepository {
+
+    /**
+     * Projeção das leituras cacheadas: uma linha por tarefa, com ids e nomes das associações
+     * LEFT JOIN porque missão, categoria e usuário são opcionais
+     */
+    String SNAPSHOT = """
+            SELECT new com.example.demo.domain.model.dto.tarefa.TarefaSnapshot(
+                t.id, t.titulo, t.descricao, t.completado, t.dataCriacao, t.points,
+                m.id, m.nome, c.id, c.nome, u.id, u.username)
+            FROM Tarefa t
+            LEFT JOIN t.missao m
+            LEFT JOIN t.categoria c
+            LEFT JOIN t.usuario u
+            """;
+
+    /**
+     * Leituras de entidade trazem as associações por JOIN (grafo Tarefa.associacoes)
+     * em vez de um SELECT extra por missão, categoria e usuário distintos
+     */
+    @Override
+    @EntityGraph(Tarefa.ASSOCIACOES)
+    Optional<Tarefa> findById(Long id);
+
+    @Override
+    @EntityGraph(Tarefa.ASSOCIACOES)
+    List<Tarefa> findAll();
+
+    @Override
+    @EntityGraph(Tarefa.ASSOCIACOES)
+    Page<Tarefa> findAll(Pageable pageable);
+
+    /**
+     * Listagem filtrada (TarefaSpecifications), também com as associações por JOIN
+     */
+    @Override
+    @EntityGraph(Tarefa.ASSOCIACOES)
+    Page<Tarefa> findAll(Specification<Tarefa> spec, Pageable pageable);
+
+    @Query(SNAPSHOT + "ORDER BY t.id")
+    List<TarefaSnapshot> findAllSnapshots();
+
+    @Query(value = SNAPSHOT, countQuery = "SELECT COUNT(t) FROM Tarefa t")
+    Page<TarefaSnapshot> findSnapshots(Pageable pageable);
+
+    @Query(SNAPSHOT + "WHERE t.id = :id")
+    Optional<TarefaSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Primeira página do keyset (sem cursor)
+     */
+    @Query(SNAPSHOT + "ORDER BY t.dataCriacao DESC, t.id DESC")
+    List<TarefaSnapshot> findPrimeiraPagina(Pageable pageable);
+
+    /**
+     * Próxima página do keyset: tarefas estritamente anteriores ao cursor
+     * Usa o índice idx_tarefa_data_criacao_id, sem OFFSET
+     */
+    @Query(SNAPSHOT + """
+            WHERE (t.dataCriacao, t.id) < (:dataCriacao, :id)
+            ORDER BY t.dataCriacao DESC, t.id DESC
+            """)
+    List<TarefaSnapshot> findPaginaApos(@Param("dataCriacao") LocalDate dataCriacao, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Tarefas mais recentes de um usuário (GET /me/tarefas)
+     * Índice idx_tarefa_usuario_recentes (usuario_id, data_criacao, id): a leitura sai ordenada e para no limite
+     * Não é index-only: descricao fica fora do INCLUDE e vem do heap para as linhas lidas
+     */
+    @Query(SNAPSHOT + """
+            WHERE t.usuario.id = :usuarioId
+            ORDER BY t.dataCriacao DESC, t.id DESC
+            """)
+    List<TarefaSnapshot> findRecentesDoUsuario(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    /**
+     * Keyset do feed do usuário depois do cursor (idx_tarefa_usuario_recentes)
+     */
+    @Query(SNAPSHOT + """
+            WHERE t.usuario.id = :usuarioId
+              AND (t.dataCriacao, t.id) < (:dataCriacao, :id)
+            ORDER BY t.dataCriacao DESC, t.id DESC
+            """)
+    List<TarefaSnapshot> findDoUsuarioApos(@Param("usuarioId") Long usuarioId,
+                                           @Param("dataCriacao") LocalDate dataCriacao,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Keyset do feed do usuário filtrado por completado: igualdade nas duas primeiras colunas
+     * do índice (usuario_id, completado, data_criacao, id), então a ordem sai do próprio índice
+     */
+    @Query(SNAPSHOT + """
+            WHERE t.usuario.id = :usuarioId
+              AND t.completado = :completado
+              AND (t.dataCriacao, t.id) < (:dataCriacao, :id)
+            ORDER BY t.dataCriacao DESC, t.id DESC
+            """)
+    List<TarefaSnapshot> findDoUsuarioPorEstadoApos(@Param("usuarioId") Long usuarioId,
+                                                    @Param("completado") boolean completado,
+                                                    @Param("dataCriacao") LocalDate dataCriacao,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    /**
+     * Próximo lote de ids de uma operação em massa (id > aposId, no máximo pageable.size), travados (FOR UPDATE)
+     * até o fim da transação; assim o UPDATE/DELETE seguinte altera exatamente estes ids, e só eles são invalidados
+     * O limite mantém cada IN :ids seguinte bem abaixo do máximo de parâmetros do PostgreSQL
+     * @param filtrarIds Se false, ignora a lista de ids
+     * @param apenasPendentes Se true, só tarefas ainda não completadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT t.id FROM Tarefa t
+            WHERE (:filtrarIds = false OR t.id IN :ids)
+              AND (:usuarioId IS NULL OR t.usuario.id = :usuarioId)
+              AND (:missaoId IS NULL OR t.missao.id = :missaoId)
+              AND (:apenasPendentes = false OR t.completado = false)
+              AND t.id > :aposId
+            ORDER BY t.id
+            """)
+    List<Long> findIdsParaLote(@Param("filtrarIds") boolean filtrarIds,
+                               @Param("ids") Collection<Long> ids,
+                               @Param("usuarioId") Long usuarioId,
+                               @Param("missaoId") Long missaoId,
+                               @Param("apenasPendentes") boolean apenasPendentes,
+                               @Param("aposId") Long aposId,
+                               Pageable pageable);
+
+    /**
+     * Pontos das tarefas informadas por missão e usuário, para ajustar saldo e ranking
+     * @param completado Somente tarefas neste estado
+     */
+    @Query("""
+            SELECT new com.example.demo.domain.model.dto.usuario.PontosDelta(t.missao.id, t.usuario.id, SUM(t.points))
+            FROM Tarefa t
+            WHERE t.id IN :ids AND t.completado = :completado AND t.usuario IS NOT NULL
+            GROUP BY t.missao.id, t.usuario.id
+            """)
+    List<PontosDelta> somarPontosPorMissaoUsuario(@Param("ids") Collection<Long> ids, @Param("completado") boolean completado);
+
+    /**
+     * Pontos de todas as tarefas completadas por missão e usuário (montagem do ranking)
+     */
+    @Query("""
+            SELECT new com.example.demo.domain.model.dto.usuario.PontosDelta(t.missao.id, t.usuario.id, SUM(t.points))
+            FROM Tarefa t
+            WHERE t.completado = true AND t.usuario IS NOT NULL
+            GROUP BY t.missao.id, t.usuario.id
+            """)
+    List<PontosDelta> somarPontosCompletadosPorMissaoUsuario();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.completado = true WHERE t.id IN :ids")
+    int completarTodas(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Tarefa t WHERE t.id IN :ids")
+    int removerTodas(@Param("ids") Collection<Long> ids);
+
+    @Query(SNAPSHOT + "WHERE t.id IN :ids")
+    List<TarefaSnapshot> findSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca textual: tarefas que casam com a consulta (índice GIN idx_tarefa_busca), por relevância
+     * websearch_to_tsquery aceita a sintaxe de buscador ("frase", -termo, or) sem erro de sintaxe
+     * Devolve só id e rank; os dados vêm depois pela projeção SNAPSHOT
+     */
+    @Query(value = """
+            SELECT t.id AS id, ts_rank(t.busca, consulta) AS rank
+            FROM tarefa t, websearch_to_tsquery('portuguese', :q) consulta
+            WHERE t.busca @@ consulta
+            ORDER BY rank DESC, t.id DESC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<ResultadoBusca> buscar(@Param("q") String q, @Param("limite") int limite);
+
+    /**
+     * Próxima página da busca: resultados estritamente depois do cursor (rank, id), sem OFFSET
+     */
+    @Query(value = """
+            SELECT r.id AS id, r.rank AS rank
+            FROM (
+                SELECT t.id AS id, ts_rank(t.busca, consulta) AS rank
+                FROM tarefa t, websearch_to_tsquery('portuguese', :q) consulta
+                WHERE t.busca @@ consulta
+            ) r
+            WHERE (r.rank, r.id) < (CAST(:rank AS real), :id)
+            ORDER BY r.rank DESC, r.id DESC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<ResultadoBusca> buscarApos(@Param("q") String q,
+                                    @Param("rank") float rank,
+                                    @Param("id") Long id,
+                                    @Param("limite") int limite);
+
+    /**
+     * Linha da busca textual
+     */
+    interface ResultadoBusca {
+        Long getId();
+
+        Float getRank();
+    }
+
+    /**
+     * Id da transação atual (atribui um se ainda não houver): versão dos deltas do ranking
+     */
+    @Query(value = "SELECT txid_current()", nativeQuery = true)
+    Long transacaoAtual();
+
+    /**
+     * Snapshot de transações da leitura atual; em REPEATABLE READ é o mesmo das consultas seguintes
+     */
+    @Query(value = "SELECT CAST(txid_current_snapshot() AS text)", nativeQuery = true)
+    String snapshotTransacoes();
+
+    /**
+     * Total aproximado a partir das estatísticas do PostgreSQL (sem COUNT(*))
+     */
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE relname = 'tarefa'", nativeQuery = true)
+    Long estimarTotal();
+
+    /**
+     * Percorre todas as tarefas (projeção SNAPSHOT) com cursor do banco (fetch size), sem materializar a lista
+     * Sem entidades: nada do usuário além de id e username (nunca o hash da senha)
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SNAPSHOT + "ORDER BY t.id")
+    Stream<TarefaSnapshot> streamSnapshots();
 }
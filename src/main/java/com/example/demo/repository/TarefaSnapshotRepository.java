@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Leituras de TarefaSnapshot com filtro dinâmico (Specification), sem carregar entidades
+ */
+public interface TarefaSnapshotRepository {
+
+    /**
+     * Mesma projeção do TarefaRepository.SNAPSHOT, com o WHERE montado pela Specification
+     */
+    Page<TarefaSnapshot> findSnapshots(Specification<Tarefa> spec, Pageable pageable);
+}
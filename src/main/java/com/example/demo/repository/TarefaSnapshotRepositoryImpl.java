@@ -0,0 +1,69 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.tarefa.CategoriaSustentabilidade;
+import com.example.demo.domain.model.tarefa.MissaoSustentavel;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.domain.model.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Fragmento do TarefaRepository: Criteria com o construtor do TarefaSnapshot (ids e nomes por LEFT JOIN)
+ */
+class TarefaSnapshotRepositoryImpl implements TarefaSnapshotRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Page<TarefaSnapshot> findSnapshots(Specification<Tarefa> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TarefaSnapshot> query = cb.createQuery(TarefaSnapshot.class);
+        Root<Tarefa> t = query.from(Tarefa.class);
+        Join<Tarefa, MissaoSustentavel> m = t.join("missao", JoinType.LEFT);
+        Join<Tarefa, CategoriaSustentabilidade> c = t.join("categoria", JoinType.LEFT);
+        Join<Tarefa, Usuario> u = t.join("usuario", JoinType.LEFT);
+        query.select(cb.construct(TarefaSnapshot.class,
+                t.get("id"), t.get("titulo"), t.get("descricao"), t.get("completado"), t.get("dataCriacao"), t.get("points"),
+                m.get("id"), m.get("nome"), c.get("id"), c.get("nome"), u.get("id"), u.get("username")));
+        Predicate where = spec.toPredicate(t, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), t, cb));
+
+        List<TarefaSnapshot> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> contar(spec));
+    }
+
+    private long contar(Specification<Tarefa> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Tarefa> t = query.from(Tarefa.class);
+        query.select(cb.count(t));
+        Predicate where = spec.toPredicate(t, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
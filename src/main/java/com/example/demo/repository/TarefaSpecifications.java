@@ -0,0 +1,46 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaFiltroDTO;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications de Tarefa: só entram no WHERE os campos informados no filtro,
+ * assim o planner escolhe o índice da coluna filtrada (V10 com completado, V17 sem)
+ */
+public final class TarefaSpecifications {
+
+    private TarefaSpecifications() {
+    }
+
+    public static Specification<Tarefa> filtro(TarefaFiltroDTO filtro) {
+        List<Specification<Tarefa>> specs = new ArrayList<>();
+        if (filtro.usuarioId() != null) specs.add(doUsuario(filtro.usuarioId()));
+        if (filtro.missaoId() != null) specs.add(daMissao(filtro.missaoId()));
+        if (filtro.categoriaId() != null) specs.add(daCategoria(filtro.categoriaId()));
+        if (filtro.completado() != null) specs.add(completado(filtro.completado()));
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Compara a FK (usuario.id) sem JOIN na tabela usuario
+     */
+    public static Specification<Tarefa> doUsuario(Long usuarioId) {
+        return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<Tarefa> daMissao(Long missaoId) {
+        return (root, query, cb) -> cb.equal(root.get("missao").get("id"), missaoId);
+    }
+
+    public static Specification<Tarefa> daCategoria(Long categoriaId) {
+        return (root, query, cb) -> cb.equal(root.get("categoria").get("id"), categoriaId);
+    }
+
+    public static Specification<Tarefa> completado(boolean completado) {
+        return (root, query, cb) -> cb.equal(root.get("completado"), completado);
+    }
+}
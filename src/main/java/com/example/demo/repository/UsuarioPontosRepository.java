@@ -0,0 +1,67 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.model.usuario.UsuarioPontos;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UsuarioPontosRepository extends JpaRepository<UsuarioPontos, Long> {
+
+    /**
+     * Soma um delta ao saldo do usuário (cria a linha se ainda não existir)
+     * Um único comando atômico: escritas concorrentes não perdem incrementos
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO usuario_pontos (usuario_id, pontos, atualizado_em)
+            VALUES (:usuarioId, :delta, now())
+            ON CONFLICT (usuario_id)
+            DO UPDATE SET pontos = usuario_pontos.pontos + EXCLUDED.pontos, atualizado_em = now()
+            """, nativeQuery = true)
+    int somar(@Param("usuarioId") Long usuarioId, @Param("delta") long delta);
+
+    /**
+     * Próximo lote de usuários da reconciliação (keyset por id)
+     */
+    @Query(value = "SELECT id FROM usuario WHERE id > :ultimoId ORDER BY id LIMIT :limite", nativeQuery = true)
+    List<Long> findProximosUsuarios(@Param("ultimoId") long ultimoId, @Param("limite") int limite);
+
+    /**
+     * Cria com saldo 0 as linhas que ainda não existem, para que todas possam ser travadas
+     * Uma linha inserida por uma escrita ainda não commitada faz este comando esperar por ela
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO usuario_pontos (usuario_id, pontos, atualizado_em)
+            SELECT u.id, 0, now() FROM usuario u WHERE u.id IN (:usuarioIds)
+            ON CONFLICT (usuario_id) DO NOTHING
+            """, nativeQuery = true)
+    int garantirLinhas(@Param("usuarioIds") Collection<Long> usuarioIds);
+
+    /**
+     * Trava as linhas de saldo (em ordem de usuário, como o ajustar) até o fim da transação
+     * Espera as escritas que já somaram um delta e ainda não commitaram
+     */
+    @Query(value = "SELECT usuario_id FROM usuario_pontos WHERE usuario_id IN (:usuarioIds) ORDER BY usuario_id FOR UPDATE", nativeQuery = true)
+    List<Long> travar(@Param("usuarioIds") Collection<Long> usuarioIds);
+
+    /**
+     * Recalcula o saldo dos usuários informados a partir das tarefas
+     * Deve rodar depois do travar, na mesma transação: o snapshot deste comando já inclui
+     * todas as escritas que somaram nestas linhas, e as que ainda vão somar não estão na soma
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE usuario_pontos p
+            SET pontos = COALESCE((SELECT SUM(t.points) FROM tarefa t WHERE t.usuario_id = p.usuario_id AND t.completado), 0),
+                atualizado_em = now()
+            WHERE p.usuario_id IN (:usuarioIds)
+            """, nativeQuery = true)
+    int reconstruir(@Param("usuarioIds") Collection<Long> usuarioIds);
+}
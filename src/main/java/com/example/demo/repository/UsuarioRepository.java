@@ -1,14 +1,33 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
 import com.example.demo.domain.model.usuario.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     UserDetails findByEmail(String email);
     Optional<Usuario> findUsuarioByEmail(String email);
+
+    /**
+     * Lista para leitura e cache, sem o hash da senha
+     */
+    @Query("SELECT new com.example.demo.domain.model.dto.usuario.UsuarioSnapshot(u.id, u.username, u.email, u.role) FROM usuario u ORDER BY u.id")
+    List<UsuarioSnapshot> findAllSnapshots();
+
+    @Query("SELECT new com.example.demo.domain.model.dto.usuario.UsuarioSnapshot(u.id, u.username, u.email, u.role) FROM usuario u WHERE u.id = :id")
+    Optional<UsuarioSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Principal do SecurityFilter: só os campos das authorities, sem o hash da senha
+     */
+    @Query("SELECT new com.example.demo.domain.model.dto.usuario.UsuarioSnapshot(u.id, u.username, u.email, u.role) FROM usuario u WHERE u.email = :email")
+    Optional<UsuarioSnapshot> findSnapshotByEmail(@Param("email") String email);
 }
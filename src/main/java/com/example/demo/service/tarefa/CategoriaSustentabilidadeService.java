@@ -23,7 +23,7 @@ public class CategoriaSustentabilidadeService {
      * Lista todas as categorias com cache
      * Cache: "categorias" - lista completa de categorias
      */
-    @Cacheable(value = "categorias", key = "'all'")
+    @Cacheable(value = "categorias", key = "'all'", sync = true)
     public List<CategoriaSustentabilidade> listarTodasCategorias() {
         System.out.println("🔍 [CACHE MISS] Buscando categorias no banco de dados...");
         List<CategoriaSustentabilidade> categorias = repository.findAll();
@@ -0,0 +1,185 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.LeaderboardDTO;
+import com.example.demo.domain.model.dto.usuario.PontosDelta;
+import com.example.demo.domain.model.tarefa.MissaoSustentavel;
+import com.example.demo.infra.cache.CacheInvalidationBus;
+import com.example.demo.repository.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rankings em memória por pontos de tarefas completadas: um global e um por missão
+ * - Montados do banco na subida (um GROUP BY) e remontados periodicamente
+ * - Atualizados incrementalmente pelos deltas do TarefaService depois do commit
+ *   e, com o CacheInvalidationBus ativo, pelos deltas dos outros nós
+ * - Cada lote de deltas leva o id da transação que o gerou: na remontagem, os deltas recebidos
+ *   durante a leitura são reaplicados só se o snapshot dela não os incluiu (nem perdidos, nem contados duas vezes)
+ * - Top N em O(log n + N) e posição de um usuário em O(log n), sem consulta ao banco
+ */
+@Service
+public class LeaderboardService implements ApplicationRunner {
+
+    private static final String EVENTO = "leaderboard.pontos";
+
+    private static final int TOP_MAXIMO = 100;
+
+    @Autowired
+    TarefaRepository tarefaRepository;
+
+    @Autowired
+    MissaoSustentavelService missaoService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private CacheInvalidationBus bus;
+
+    private volatile Rankings rankings = new Rankings(new ConcurrentHashMap<>(), new Ranking());
+
+    // Guarda a troca dos rankings e o registro dos deltas recebidos durante uma remontagem
+    private final Object trava = new Object();
+
+    private List<Deltas> recebidosNaRemontagem;
+
+    @Autowired(required = false)
+    public void setBus(CacheInvalidationBus bus) {
+        this.bus = bus;
+        bus.registrarEvento(EVENTO, Deltas.class, this::aplicar);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconstruir();
+    }
+
+    /**
+     * Remonta os rankings a partir das tarefas completadas e troca de uma vez
+     * Corrige deltas perdidos (ex: falha no barramento entre nós)
+     * Somas e snapshot de transações vêm da mesma transação REPEATABLE READ; os deltas que chegam
+     * durante a leitura são registrados e, na troca, reaplicados se vieram de transações fora do snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval:PT10M}",
+            initialDelayString = "${app.leaderboard.rebuild-interval:PT10M}")
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        synchronized (trava) {
+            recebidosNaRemontagem = new ArrayList<>();
+        }
+        try {
+            TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+            leitura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            leitura.setReadOnly(true);
+            Leitura lida = leitura.execute(status -> new Leitura(
+                    SnapshotTransacoes.parse(tarefaRepository.snapshotTransacoes()),
+                    tarefaRepository.somarPontosCompletadosPorMissaoUsuario()));
+
+            Rankings novos = new Rankings(new ConcurrentHashMap<>(), new Ranking());
+            lida.somas().forEach(soma -> aplicar(novos, soma));
+            int reaplicados = 0;
+            synchronized (trava) {
+                for (Deltas recebidos : recebidosNaRemontagem) {
+                    if (recebidos.transacao() != null && !lida.snapshot().visivel(recebidos.transacao())) {
+                        recebidos.deltas().forEach(delta -> aplicar(novos, delta));
+                        reaplicados++;
+                    }
+                }
+                rankings = novos;
+            }
+            System.out.println("✅ [LEADERBOARD] Rankings montados: " + novos.global().participantes()
+                    + " usuários, " + novos.porMissao().size() + " missões (" + reaplicados + " lotes de deltas reaplicados) em "
+                    + (System.currentTimeMillis() - inicio) + "ms");
+        } finally {
+            synchronized (trava) {
+                recebidosNaRemontagem = null;
+            }
+        }
+    }
+
+    /**
+     * Aplica deltas de pontos (já commitados) e repassa aos outros nós
+     * @param transacao Id da transação (txid_current()) que gerou os deltas
+     */
+    public void ajustar(List<PontosDelta> deltas, Long transacao) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Deltas lote = new Deltas(deltas, transacao);
+        aplicar(lote);
+        if (bus != null) {
+            bus.publicarEvento(EVENTO, lote);
+        }
+    }
+
+    public LeaderboardDTO global(int top, Long usuarioId) {
+        return leaderboard(null, rankings.global(), top, usuarioId);
+    }
+
+    public LeaderboardDTO missao(Long missaoId, int top, Long usuarioId) {
+        boolean existe = missaoService.listarTodasMissoesSustentaveis().stream()
+                .map(MissaoSustentavel::getId)
+                .anyMatch(missaoId::equals);
+        if (!existe) {
+            throw new RuntimeException("Missão não encontrada com ID: " + missaoId);
+        }
+        Ranking ranking = rankings.porMissao().getOrDefault(missaoId, new Ranking());
+        return leaderboard(missaoId, ranking, top, usuarioId);
+    }
+
+    private LeaderboardDTO leaderboard(Long missaoId, Ranking ranking, int top, Long usuarioId) {
+        if (top < 1 || top > TOP_MAXIMO)
+            throw new IllegalArgumentException("Top must be between 1 and " + TOP_MAXIMO);
+
+        return new LeaderboardDTO(
+                missaoId,
+                ranking.participantes(),
+                ranking.top(top),
+                usuarioId != null ? ranking.posicao(usuarioId) : null
+        );
+    }
+
+    private void aplicar(Deltas lote) {
+        synchronized (trava) {
+            Rankings atuais = rankings;
+            lote.deltas().forEach(delta -> aplicar(atuais, delta));
+            if (recebidosNaRemontagem != null) {
+                recebidosNaRemontagem.add(lote);
+            }
+        }
+    }
+
+    private static void aplicar(Rankings rankings, PontosDelta delta) {
+        if (delta.vazio()) {
+            return;
+        }
+        rankings.global().ajustar(delta.usuarioId(), delta.pontos());
+        if (delta.missaoId() != null) {
+            rankings.porMissao()
+                    .computeIfAbsent(delta.missaoId(), id -> new Ranking())
+                    .ajustar(delta.usuarioId(), delta.pontos());
+        }
+    }
+
+    private record Rankings(Map<Long, Ranking> porMissao, Ranking global) {
+    }
+
+    private record Leitura(SnapshotTransacoes snapshot, List<PontosDelta> somas) {
+    }
+
+    /**
+     * Deltas publicados para os outros nós, com o id da transação que os gerou
+     */
+    public record Deltas(List<PontosDelta> deltas, Long transacao) {
+    }
+}
@@ -21,7 +21,7 @@ public class MissaoSustentavelService {
      * Lista todas as missões sustentáveis com cache
      * Cache: "missoes" - lista completa de missões
      */
-    @Cacheable(value = "missoes", key = "'all'")
+    @Cacheable(value = "missoes", key = "'all'", sync = true)
     public List<MissaoSustentavel> listarTodasMissoesSustentaveis() {
         System.out.println("🔍 [CACHE MISS] Buscando missões no banco de dados...");
         List<MissaoSustentavel> missoes = repository.findAll();
@@ -0,0 +1,48 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posição de um consumidor de projeção no evento_outbox (linha do projecao_offset)
+ * A ordem de consumo é (transação que gravou o evento, id)
+ * @param transacao Transação do último evento consumido (logo após um replay, o xmin do snapshot base)
+ * @param eventoId Último evento consumido nessa transação (0 logo após um replay)
+ * @param base Snapshot da leitura do último replay: eventos de transações visíveis nele já estão nos agregados
+ */
+record PosicaoProjecao(long transacao, long eventoId, SnapshotTransacoes base) {
+
+    /**
+     * Corta o próximo lote nos candidatos (eventos depois desta posição, em ordem, lidos depois do horizonte)
+     * - Para no primeiro evento de transação >= horizonte: abaixo dele todas terminaram, então nenhum
+     *   evento com commit atrasado pode ainda aparecer atrás da posição (ele espera, não é pulado)
+     * - Eventos visíveis no snapshot base são consumidos sem aplicar (o replay já os contou)
+     * @param horizonte xmin de um snapshot tirado antes da leitura dos candidatos
+     */
+    Lote proximoLote(List<EventoOutbox> candidatos, long horizonte) {
+        List<EventoOutbox> aplicar = new ArrayList<>();
+        PosicaoProjecao proxima = this;
+        int consumidos = 0;
+        for (EventoOutbox evento : candidatos) {
+            if (evento.getTransacao() >= horizonte) {
+                break;
+            }
+            if (!base.visivel(evento.getTransacao())) {
+                aplicar.add(evento);
+            }
+            proxima = new PosicaoProjecao(evento.getTransacao(), evento.getId(), base);
+            consumidos++;
+        }
+        return new Lote(aplicar, proxima, consumidos);
+    }
+
+    /**
+     * @param aplicar Eventos a somar nos agregados, em ordem
+     * @param proxima Posição depois do lote (igual à atual se nada foi consumido)
+     * @param consumidos Candidatos consumidos, aplicados ou não
+     */
+    record Lote(List<EventoOutbox> aplicar, PosicaoProjecao proxima, int consumidos) {
+    }
+}
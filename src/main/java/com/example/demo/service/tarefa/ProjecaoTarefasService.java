@@ -0,0 +1,284 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.ProjecaoStatusDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaAtualizadaEvent;
+import com.example.demo.domain.model.dto.tarefa.TarefaCriadaEvent;
+import com.example.demo.domain.model.dto.tarefa.TarefaEstado;
+import com.example.demo.domain.model.dto.tarefa.TarefaRemovidaEvent;
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import com.example.demo.domain.model.tarefa.CategoriaTotais;
+import com.example.demo.domain.model.tarefa.MissaoProgresso;
+import com.example.demo.repository.CategoriaSustentabilidadeRepository;
+import com.example.demo.repository.CategoriaTotaisRepository;
+import com.example.demo.repository.EventoOutboxRepository;
+import com.example.demo.repository.MissaoProgressoRepository;
+import com.example.demo.repository.MissaoSustentavelRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém os agregados de tarefa (missao_progresso, categoria_totais) fora do caminho da requisição
+ * Consome os eventos tarefa.* do evento_outbox a partir da própria posição (projecao_offset),
+ * em micro-lotes: os deltas do lote são somados por chave e gravados com um UPSERT por chave,
+ * na mesma transação que avança a posição (cada evento é aplicado exatamente uma vez)
+ * A ordem é (transação que gravou, id) e só entram transações já encerradas: um commit demorado atrasa
+ * o consumo, mas o evento nunca é pulado
+ * O replay reconstrói os agregados direto das tarefas e guarda o snapshot usado: não depende de manter
+ * o log inteiro (o OutboxRetencao apaga os eventos antigos já aplicados)
+ * O saldo por usuário continua no usuario_pontos, mantido na própria escrita (PontosService)
+ */
+@Service
+public class ProjecaoTarefasService {
+
+    static final String CONSUMIDOR = "tarefas";
+
+    private static final String UPSERT_MISSAO = """
+            INSERT INTO missao_progresso (missao_id, total_tarefas, tarefas_completadas, pontos_completados, atualizado_em)
+            VALUES (?, ?, ?, ?, now())
+            ON CONFLICT (missao_id) DO UPDATE SET
+                total_tarefas = missao_progresso.total_tarefas + EXCLUDED.total_tarefas,
+                tarefas_completadas = missao_progresso.tarefas_completadas + EXCLUDED.tarefas_completadas,
+                pontos_completados = missao_progresso.pontos_completados + EXCLUDED.pontos_completados,
+                atualizado_em = now()
+            """;
+
+    /**
+     * Agregados a partir das tarefas e snapshot base num único comando (o mesmo snapshot para os três)
+     * A posição vai para o xmin do snapshot: eventos abaixo dele já estão visíveis nas tarefas
+     */
+    private static final String REPLAY = """
+            WITH missoes AS (
+                INSERT INTO missao_progresso (missao_id, total_tarefas, tarefas_completadas, pontos_completados, atualizado_em)
+                SELECT missao_id, COUNT(*), COUNT(*) FILTER (WHERE completado), COALESCE(SUM(points) FILTER (WHERE completado), 0), now()
+                FROM tarefa
+                WHERE missao_id IS NOT NULL
+                GROUP BY missao_id
+                RETURNING missao_id
+            ), categorias AS (
+                INSERT INTO categoria_totais (categoria_id, total_tarefas, tarefas_completadas, pontos_completados, atualizado_em)
+                SELECT categoria_id, COUNT(*), COUNT(*) FILTER (WHERE completado), COALESCE(SUM(points) FILTER (WHERE completado), 0), now()
+                FROM tarefa
+                WHERE categoria_id IS NOT NULL
+                GROUP BY categoria_id
+                RETURNING categoria_id
+            )
+            UPDATE projecao_offset
+            SET snapshot_base = CAST(txid_current_snapshot() AS text),
+                ultima_transacao = txid_snapshot_xmin(txid_current_snapshot()),
+                ultimo_evento_id = 0,
+                atualizado_em = now()
+            WHERE nome = ?
+            """;
+
+    private static final String UPSERT_CATEGORIA = """
+            INSERT INTO categoria_totais (categoria_id, total_tarefas, tarefas_completadas, pontos_completados, atualizado_em)
+            VALUES (?, ?, ?, ?, now())
+            ON CONFLICT (categoria_id) DO UPDATE SET
+                total_tarefas = categoria_totais.total_tarefas + EXCLUDED.total_tarefas,
+                tarefas_completadas = categoria_totais.tarefas_completadas + EXCLUDED.tarefas_completadas,
+                pontos_completados = categoria_totais.pontos_completados + EXCLUDED.pontos_completados,
+                atualizado_em = now()
+            """;
+
+    @Autowired
+    EventoOutboxRepository eventoRepository;
+
+    @Autowired
+    MissaoProgressoRepository missaoProgressoRepository;
+
+    @Autowired
+    CategoriaTotaisRepository categoriaTotaisRepository;
+
+    @Autowired
+    MissaoSustentavelRepository missaoRepository;
+
+    @Autowired
+    CategoriaSustentabilidadeRepository categoriaRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TransactionOperations transacao;
+
+    @Value("${app.projecao.enabled:true}")
+    boolean habilitada;
+
+    @Value("${app.projecao.batch-size:500}")
+    int batchSize;
+
+    /**
+     * Aplica micro-lotes até alcançar o fim do log
+     */
+    @Scheduled(fixedDelayString = "${app.projecao.interval-ms:1000}")
+    public void consumir() {
+        if (!habilitada) {
+            return;
+        }
+        int aplicados;
+        do {
+            aplicados = transacao.execute(status -> aplicarLote());
+        } while (aplicados == batchSize);
+    }
+
+    /**
+     * @return Eventos consumidos (0 se não havia novos ou se outra réplica está com o lote)
+     */
+    int aplicarLote() {
+        // SKIP LOCKED: só uma réplica consome por vez, as outras pulam a rodada
+        List<PosicaoProjecao> posicao = jdbcTemplate.query(
+                "SELECT ultima_transacao, ultimo_evento_id, snapshot_base FROM projecao_offset WHERE nome = ? FOR UPDATE SKIP LOCKED",
+                (rs, linha) -> new PosicaoProjecao(rs.getLong(1), rs.getLong(2), SnapshotTransacoes.parse(rs.getString(3))),
+                CONSUMIDOR);
+        if (posicao.isEmpty()) {
+            return 0;
+        }
+        PosicaoProjecao atual = posicao.get(0);
+        // Horizonte antes dos candidatos: os eventos das transações abaixo dele já estão visíveis na leitura
+        long horizonte = eventoRepository.horizonteTransacoes();
+        PosicaoProjecao.Lote lote = atual.proximoLote(
+                eventoRepository.findEventosTarefaApos(atual.transacao(), atual.eventoId(), batchSize), horizonte);
+        if (lote.consumidos() == 0) {
+            return 0;
+        }
+
+        Map<Long, Delta> missoes = new HashMap<>();
+        Map<Long, Delta> categorias = new HashMap<>();
+        for (EventoOutbox evento : lote.aplicar()) {
+            switch (evento.getTipo()) {
+                case TarefaCriadaEvent.TIPO -> somar(missoes, categorias, ler(evento, TarefaCriadaEvent.class).estado(), 1);
+                case TarefaAtualizadaEvent.TIPO -> {
+                    TarefaAtualizadaEvent atualizada = ler(evento, TarefaAtualizadaEvent.class);
+                    somar(missoes, categorias, atualizada.antes(), -1);
+                    somar(missoes, categorias, atualizada.depois(), 1);
+                }
+                case TarefaRemovidaEvent.TIPO -> somar(missoes, categorias, ler(evento, TarefaRemovidaEvent.class).estado(), -1);
+                default -> {
+                    // Tipo desconhecido: só avança o offset
+                }
+            }
+        }
+        upsert(UPSERT_MISSAO, missoes);
+        upsert(UPSERT_CATEGORIA, categorias);
+
+        jdbcTemplate.update("UPDATE projecao_offset SET ultima_transacao = ?, ultimo_evento_id = ?, atualizado_em = now() WHERE nome = ?",
+                lote.proxima().transacao(), lote.proxima().eventoId(), CONSUMIDOR);
+        return lote.consumidos();
+    }
+
+    /**
+     * Reconstrói os agregados a partir das tarefas e reposiciona o consumidor no snapshot dessa leitura
+     * O consumir() seguinte aplica só os eventos de transações que o snapshot não viu
+     * Espera o lote em andamento terminar (FOR UPDATE sem SKIP LOCKED)
+     */
+    @Transactional
+    public ProjecaoStatusDTO replay() {
+        jdbcTemplate.queryForList("SELECT ultimo_evento_id FROM projecao_offset WHERE nome = ? FOR UPDATE", Long.class, CONSUMIDOR);
+        jdbcTemplate.update("DELETE FROM missao_progresso");
+        jdbcTemplate.update("DELETE FROM categoria_totais");
+        jdbcTemplate.update(REPLAY, CONSUMIDOR);
+        System.out.println("🔄 [PROJECAO] Replay de '" + CONSUMIDOR + "' a partir das tarefas");
+        return status();
+    }
+
+    /**
+     * Posição do consumidor e eventos de tarefa que ele ainda vai aplicar
+     */
+    public ProjecaoStatusDTO status() {
+        List<ProjecaoStatusDTO> status = jdbcTemplate.query(
+                "SELECT ultima_transacao, ultimo_evento_id, snapshot_base FROM projecao_offset WHERE nome = ?",
+                (rs, linha) -> new ProjecaoStatusDTO(CONSUMIDOR, rs.getLong(1), rs.getLong(2),
+                        eventoRepository.contarEventosTarefaApos(rs.getLong(1), rs.getLong(2), rs.getString(3))),
+                CONSUMIDOR);
+        return status.isEmpty() ? new ProjecaoStatusDTO(CONSUMIDOR, 0, 0, 0) : status.get(0);
+    }
+
+    /**
+     * Progresso pré-calculado; missão existente sem tarefas ainda não tem linha
+     */
+    public MissaoProgresso progressoMissao(Long missaoId) {
+        return missaoProgressoRepository.findById(missaoId).orElseGet(() -> {
+            if (!missaoRepository.existsById(missaoId)) {
+                throw new RuntimeException("Missão não encontrada com ID: " + missaoId);
+            }
+            return new MissaoProgresso(missaoId, 0, 0, 0, null);
+        });
+    }
+
+    public CategoriaTotais totaisCategoria(Long categoriaId) {
+        return categoriaTotaisRepository.findById(categoriaId).orElseGet(() -> {
+            if (!categoriaRepository.existsById(categoriaId)) {
+                throw new RuntimeException("Categoria não encontrada com ID: " + categoriaId);
+            }
+            return new CategoriaTotais(categoriaId, 0, 0, 0, null);
+        });
+    }
+
+    private static void somar(Map<Long, Delta> missoes, Map<Long, Delta> categorias, TarefaEstado estado, int sinal) {
+        if (estado == null) {
+            return;
+        }
+        if (estado.missaoId() != null) {
+            missoes.computeIfAbsent(estado.missaoId(), id -> new Delta()).somar(estado, sinal);
+        }
+        if (estado.categoriaId() != null) {
+            categorias.computeIfAbsent(estado.categoriaId(), id -> new Delta()).somar(estado, sinal);
+        }
+    }
+
+    /**
+     * Um UPSERT por chave no lote, em JDBC batch; deltas que se anularam não são gravados
+     */
+    private void upsert(String sql, Map<Long, Delta> deltas) {
+        List<Object[]> linhas = deltas.entrySet().stream()
+                .filter(entry -> !entry.getValue().nulo())
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue().total, entry.getValue().completadas, entry.getValue().pontos})
+                .toList();
+        if (!linhas.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, linhas);
+        }
+    }
+
+    private <T> T ler(EventoOutbox evento, Class<T> classe) {
+        try {
+            return objectMapper.readValue(evento.getPayload(), classe);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid payload in event " + evento.getId() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Soma dos eventos do lote para uma missão ou categoria
+     */
+    private static final class Delta {
+        long total;
+        long completadas;
+        long pontos;
+
+        void somar(TarefaEstado estado, int sinal) {
+            total += sinal;
+            if (estado.completado()) {
+                completadas += sinal;
+                pontos += (long) sinal * estado.points();
+            }
+        }
+
+        boolean nulo() {
+            return total == 0 && completadas == 0 && pontos == 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.PosicaoRankingDTO;
+import com.example.demo.infra.collection.LongIntHashMap;
+import com.example.demo.infra.collection.LongRankTree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranking de um escopo (uma missão ou global): pontos por usuário e a ordem entre eles
+ * A ordem guarda (pontos, usuário) empacotados em um long: mais pontos primeiro, empate pelo menor id
+ * Usuários com 0 pontos ficam fora do ranking
+ */
+class Ranking {
+
+    private static final long MAX_ID = 0xFFFFFFFFL;
+
+    private final LongIntHashMap pontos = new LongIntHashMap();
+
+    private final LongRankTree ordem = new LongRankTree();
+
+    synchronized void ajustar(long usuarioId, long delta) {
+        int atual = pontos.get(usuarioId, 0);
+        if (atual > 0) {
+            ordem.remove(chave(atual, usuarioId));
+        }
+        int novo = (int) Math.max(0, Math.min(Integer.MAX_VALUE, atual + delta));
+        if (novo > 0) {
+            pontos.put(usuarioId, novo);
+            ordem.add(chave(novo, usuarioId));
+        } else {
+            pontos.remove(usuarioId);
+        }
+    }
+
+    synchronized int participantes() {
+        return pontos.size();
+    }
+
+    synchronized List<PosicaoRankingDTO> top(int n) {
+        long[] chaves = ordem.largest(n);
+        List<PosicaoRankingDTO> top = new ArrayList<>(chaves.length);
+        for (int i = 0; i < chaves.length; i++) {
+            top.add(new PosicaoRankingDTO(i + 1, usuarioId(chaves[i]), pontos(chaves[i])));
+        }
+        return top;
+    }
+
+    /**
+     * @return Posição do usuário, ou null se ele não tem pontos neste ranking
+     */
+    synchronized PosicaoRankingDTO posicao(long usuarioId) {
+        int atual = pontos.get(usuarioId, 0);
+        if (atual == 0) {
+            return null;
+        }
+        return new PosicaoRankingDTO(ordem.countGreaterThan(chave(atual, usuarioId)) + 1, usuarioId, atual);
+    }
+
+    private static long chave(int pontos, long usuarioId) {
+        if (usuarioId < 0 || usuarioId > MAX_ID) {
+            throw new IllegalArgumentException("Usuário fora do intervalo do ranking: " + usuarioId);
+        }
+        return ((long) pontos << 32) | (MAX_ID - usuarioId);
+    }
+
+    private static long usuarioId(long chave) {
+        return MAX_ID - (chave & MAX_ID);
+    }
+
+    private static int pontos(long chave) {
+        return (int) (chave >>> 32);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.ElegibilidadeDTO;
+import com.example.demo.domain.model.tarefa.Recompensa;
+import com.example.demo.service.usuario.PontosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Elegibilidade de recompensas por saldo de pontos
+ * As recompensas ativas ficam em um índice imutável ordenado por pontosRequiridos (int[] + array paralelo):
+ * "desbloqueadas" e "próxima" saem de uma única busca binária
+ * O índice é derivado da lista do cache "recompensas": quando ela muda (evict no RecompensaService,
+ * invalidação vinda de outro nó, TTL ou refresh) o índice é remontado na próxima consulta
+ */
+@Service
+public class RecompensaElegibilidadeService {
+
+    @Autowired
+    RecompensaService recompensaService;
+
+    @Autowired
+    PontosService pontosService;
+
+    private volatile Indice indice = new Indice(List.of(), new int[0], new Recompensa[0]);
+
+    public ElegibilidadeDTO consultarPorUsuario(Long usuarioId) {
+        return consultar(usuarioId, pontosService.consultar(usuarioId).pontos());
+    }
+
+    public ElegibilidadeDTO consultarPorPontos(long pontos) {
+        if (pontos < 0) throw new IllegalArgumentException("Points cannot be negative");
+        return consultar(null, pontos);
+    }
+
+    private ElegibilidadeDTO consultar(Long usuarioId, long pontos) {
+        Indice atual = indiceAtual();
+        int liberadas = atual.quantidadeLiberada(pontos);
+        List<Recompensa> desbloqueadas = Arrays.asList(atual.recompensas()).subList(0, liberadas);
+        Recompensa proxima = liberadas < atual.recompensas().length ? atual.recompensas()[liberadas] : null;
+        long faltantes = proxima != null ? proxima.getPontosRequiridos() - pontos : 0;
+        return new ElegibilidadeDTO(usuarioId, pontos, List.copyOf(desbloqueadas), proxima, faltantes);
+    }
+
+    /**
+     * Índice da lista atualmente em cache; remonta só se a lista for outra instância
+     */
+    private Indice indiceAtual() {
+        List<Recompensa> recompensas = recompensaService.listarTodasRecompensas();
+        Indice atual = indice;
+        if (atual.origem() != recompensas) {
+            atual = Indice.de(recompensas);
+            indice = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * @param origem Lista do cache de onde o índice foi montado (comparada por identidade)
+     * @param limiares pontosRequiridos em ordem crescente
+     * @param recompensas Recompensas ativas na mesma ordem de limiares
+     */
+    private record Indice(List<Recompensa> origem, int[] limiares, Recompensa[] recompensas) {
+
+        static Indice de(List<Recompensa> origem) {
+            Recompensa[] ativas = origem.stream()
+                    .filter(Recompensa::isAtivado)
+                    .sorted(Comparator.comparingInt(Recompensa::getPontosRequiridos).thenComparing(Recompensa::getId))
+                    .toArray(Recompensa[]::new);
+            int[] limiares = Arrays.stream(ativas).mapToInt(Recompensa::getPontosRequiridos).toArray();
+            return new Indice(origem, limiares, ativas);
+        }
+
+        /**
+         * Quantas recompensas têm limiar <= pontos (primeira posição com limiar > pontos)
+         */
+        int quantidadeLiberada(long pontos) {
+            int baixo = 0;
+            int alto = limiares.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (limiares[meio] <= pontos) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class RecompensaService {
      * Lista todas as recompensas com cache
      * Cache: "recompensas" - lista completa de recompensas
      */
-    @Cacheable(value = "recompensas", key = "'all'")
+    @Cacheable(value = "recompensas", key = "'all'", sync = true)
     public List<Recompensa> listarTodasRecompensas() {
         System.out.println("🔍 [CACHE MISS] Buscando recompensas no banco de dados...");
         List<Recompensa> recompensas = repository.findAll();
@@ -0,0 +1,35 @@
+package com.example.demo.service.tarefa;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot de transações do PostgreSQL (txid_current_snapshot(), formato "xmin:xmax:xip,...")
+ * Diz se os efeitos de uma transação (txid_current() dela) já eram visíveis para quem leu com este snapshot
+ */
+record SnapshotTransacoes(long xmin, long xmax, long[] emAndamento) {
+
+    static SnapshotTransacoes parse(String texto) {
+        String[] partes = texto.split(":", -1);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Invalid transaction snapshot: " + texto);
+        }
+        long[] emAndamento = partes[2].isEmpty()
+                ? new long[0]
+                : Arrays.stream(partes[2].split(",")).mapToLong(Long::parseLong).sorted().toArray();
+        return new SnapshotTransacoes(Long.parseLong(partes[0]), Long.parseLong(partes[1]), emAndamento);
+    }
+
+    /**
+     * Visível: terminou antes do snapshot (abaixo de xmin, ou abaixo de xmax e fora da lista em andamento)
+     * Só vale para transações que commitaram, como as que originam deltas depois do commit
+     */
+    boolean visivel(long transacao) {
+        if (transacao < xmin) {
+            return true;
+        }
+        if (transacao >= xmax) {
+            return false;
+        }
+        return Arrays.binarySearch(emAndamento, transacao) < 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.CursorPageResponse;
+import com.example.demo.domain.model.dto.tarefa.TarefaCursor;
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.repository.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Feed de tarefas do usuário autenticado (GET /me/tarefas), da mais recente para a mais antiga
+ * Cada usuário tem uma única entrada no cache "feed" com as suas JANELA tarefas mais recentes;
+ * as páginas saem dessa janela e só o que passa dela vai ao banco (keyset no idx_tarefa_usuario_recentes,
+ * ou no idx_tarefa_usuario_feed quando filtra por completado)
+ * A entrada é invalidada apenas quando tarefas desse usuário mudam (TarefaService)
+ */
+@Service
+public class TarefaFeedService {
+
+    public static final String CACHE = "feed";
+
+    /**
+     * Tarefas recentes guardadas por usuário; a janela carrega uma a mais para saber se está completa
+     */
+    static final int JANELA = 200;
+
+    @Autowired
+    TarefaRepository tarefaRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    /**
+     * @param completado Somente tarefas neste estado (null para todas)
+     * @param after Cursor retornado em nextCursor (null para a primeira página)
+     */
+    public CursorPageResponse<TarefaSnapshot> listar(Long usuarioId, Boolean completado, String after, int size) {
+
+        if (size < 1 || size > 100)
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+
+        TarefaCursor inicio = after == null || after.isBlank() ? null : TarefaCursor.decode(after);
+
+        List<TarefaSnapshot> janela = janela(usuarioId);
+        boolean janelaCompleta = janela.size() <= JANELA;
+
+        // Busca um item a mais para saber se existe próxima página
+        List<TarefaSnapshot> tarefas = new ArrayList<>(size + 1);
+        TarefaCursor ultimaVista = inicio;
+        for (TarefaSnapshot tarefa : janelaCompleta ? janela : janela.subList(0, JANELA)) {
+            TarefaCursor posicao = cursor(tarefa);
+            if (inicio != null && posicao.compareTo(inicio) >= 0) {
+                continue;
+            }
+            ultimaVista = posicao;
+            if (completado == null || completado == tarefa.completado()) {
+                tarefas.add(tarefa);
+                if (tarefas.size() > size) {
+                    break;
+                }
+            }
+        }
+
+        // Janela esgotada sem completar a página: continua no banco a partir da última posição vista
+        if (tarefas.size() <= size && !janelaCompleta) {
+            Pageable limite = Pageable.ofSize(size + 1 - tarefas.size());
+            tarefas.addAll(completado == null
+                    ? tarefaRepository.findDoUsuarioApos(usuarioId, ultimaVista.dataCriacao(), ultimaVista.id(), limite)
+                    : tarefaRepository.findDoUsuarioPorEstadoApos(usuarioId, completado, ultimaVista.dataCriacao(), ultimaVista.id(), limite));
+        }
+
+        boolean hasNext = tarefas.size() > size;
+        List<TarefaSnapshot> content = hasNext ? tarefas.subList(0, size) : tarefas;
+        String nextCursor = hasNext ? cursor(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPageResponse<>(List.copyOf(content), size, nextCursor, hasNext, null);
+    }
+
+    /**
+     * Remove do cache o feed dos usuários informados (ids null são ignorados)
+     */
+    public void invalidar(Collection<Long> usuarioIds) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+            return;
+        }
+        usuarioIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(cache::evict);
+    }
+
+    private List<TarefaSnapshot> janela(Long usuarioId) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+            return carregarJanela(usuarioId);
+        }
+        return cache.get(usuarioId, () -> carregarJanela(usuarioId));
+    }
+
+    private List<TarefaSnapshot> carregarJanela(Long usuarioId) {
+        System.out.println("🔍 [CACHE MISS] Buscando feed do usuário " + usuarioId + " no banco de dados...");
+        return List.copyOf(tarefaRepository.findRecentesDoUsuario(usuarioId, Pageable.ofSize(JANELA + 1)));
+    }
+
+    private static TarefaCursor cursor(TarefaSnapshot tarefa) {
+        return new TarefaCursor(tarefa.dataCriacao(), tarefa.id());
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaCursor;
+import com.example.demo.domain.model.dto.tarefa.TarefaFiltroDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.infra.cache.CacheInvalidationBus;
+import com.example.demo.infra.cache.InstrumentedCaffeineCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Índice das páginas de tarefas guardadas no cache "tarefas"
+ * Para cada chave de página guarda os ids que ela contém (e, no keyset, seus limites),
+ * assim uma escrita invalida apenas as páginas afetadas em vez de todo o cache
+ * Com o CacheInvalidationBus ativo, cada alteração é reaplicada no índice dos outros nós,
+ * que conhecem as suas próprias páginas em cache
+ * Cada carga marca a chave como pendente antes da consulta (iniciarCarga), assim uma escrita que commita
+ * entre a leitura e o registro ainda encontra a chave
+ */
+@Component
+public class TarefaPageCacheIndex {
+
+    public static final String CACHE = "tarefas";
+    public static final String ALL = "all";
+
+    private static final String EVENTO = "tarefas.pagina";
+    private static final String EVENTO_LOTE = "tarefas.lote";
+    private static final String EVENTO_MASSA = "tarefas.massa";
+
+    private final CacheManager cacheManager;
+
+    private final Cache<String, PaginaIndexada> paginas;
+
+    private CacheInvalidationBus bus;
+
+    public TarefaPageCacheIndex(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        this.paginas = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .removalListener((String key, PaginaIndexada pagina, RemovalCause cause) -> {
+                    // Uma página que sai do índice não poderia mais ser invalidada: remove do cache também
+                    if (cause.wasEvicted()) {
+                        evict(key);
+                    }
+                })
+                .build();
+    }
+
+    @Autowired(required = false)
+    public void setBus(CacheInvalidationBus bus) {
+        this.bus = bus;
+        bus.registrarEvento(EVENTO, Alteracao.class, this::aplicar);
+        bus.registrarEvento(EVENTO_LOTE, Lote.class, this::aplicarLote);
+        bus.registrarEvento(EVENTO_MASSA, AlteracaoEmMassa.class, this::aplicarEmMassa);
+    }
+
+    /**
+     * Chave de uma página por offset (GET /tarefas/paginated)
+     */
+    public static String paginaKey(int page, int size) {
+        return "page:" + page + ":size:" + size;
+    }
+
+    /**
+     * Chave de uma página por cursor (GET /tarefas/cursor)
+     */
+    public static String cursorKey(String after, int size, boolean withTotal) {
+        return "cursor:" + after + ":size:" + size + ":total:" + withTotal;
+    }
+
+    /**
+     * Chave de uma página filtrada (GET /tarefas/filter)
+     */
+    public static String filtroKey(TarefaFiltroDTO filtro, int page, int size) {
+        return "filter:" + filtro.assinatura() + ":page:" + page + ":size:" + size;
+    }
+
+    /**
+     * Chamado no loader, antes da consulta: a chave entra no índice como pendente, afetada por qualquer alteração
+     * Uma invalidação durante a carga faz o Caffeine descartar o valor carregado (a carga em andamento
+     * termina, mas o resultado não fica no cache), em vez de a página velha sobreviver até o TTL
+     */
+    public void iniciarCarga(String key) {
+        paginas.put(key, PaginaIndexada.PENDENTE);
+    }
+
+    /**
+     * Registra uma página por offset (ordenada por id)
+     */
+    public void registrarPagina(String key, List<TarefaSnapshot> tarefas) {
+        paginas.put(key, new PaginaIndexada(ids(tarefas), false, false, null, null));
+    }
+
+    /**
+     * Registra uma página filtrada
+     * Uma alteração pode fazer a tarefa entrar no filtro (ex.: completado ou missão mudou),
+     * então toda atualização invalida as páginas filtradas, e não só as que contêm a tarefa
+     */
+    public void registrarPaginaFiltrada(String key, List<TarefaSnapshot> tarefas) {
+        paginas.put(key, new PaginaIndexada(ids(tarefas), false, true, null, null));
+    }
+
+    /**
+     * Registra uma página por cursor
+     * @param inicio Cursor da página (null na primeira página)
+     * @param fim Última tarefa da página quando existe próxima página (null se for a última)
+     */
+    public void registrarPaginaCursor(String key, List<TarefaSnapshot> tarefas, TarefaCursor inicio, TarefaCursor fim) {
+        paginas.put(key, new PaginaIndexada(ids(tarefas), true, false, inicio, fim));
+    }
+
+    /**
+     * Nova tarefa: muda o total de todas as páginas por offset,
+     * mas só as páginas por cursor cujo intervalo inclui a sua posição
+     */
+    public void onCriada(Tarefa tarefa) {
+        publicar(new Alteracao(Operacao.CRIADA, tarefa.getId(), tarefa.getDataCriacao(), null));
+    }
+
+    /**
+     * Lote de tarefas novas (POST /tarefas/batch): uma única invalidação para o lote inteiro
+     * As páginas por cursor afetadas são as que cruzam o intervalo entre a menor e a maior posição
+     */
+    public void onCriadas(List<Tarefa> tarefas) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        List<TarefaCursor> posicoes = tarefas.stream()
+                .map(tarefa -> new TarefaCursor(tarefa.getDataCriacao(), tarefa.getId()))
+                .sorted()
+                .toList();
+        Lote lote = new Lote(posicoes.get(0), posicoes.get(posicoes.size() - 1));
+        aplicarLote(lote);
+        if (bus != null) {
+            bus.publicarEvento(EVENTO_LOTE, lote);
+        }
+    }
+
+    /**
+     * Tarefa alterada: invalida as páginas que a contêm e, se a data de criação mudou,
+     * as páginas por cursor para onde ela se moveu
+     */
+    public void onAtualizada(Tarefa tarefa, LocalDate dataCriacaoAnterior) {
+        publicar(new Alteracao(Operacao.ATUALIZADA, tarefa.getId(), tarefa.getDataCriacao(), dataCriacaoAnterior));
+    }
+
+    /**
+     * Tarefa removida: desloca todas as páginas por offset,
+     * mas só altera as páginas por cursor que a contêm
+     */
+    public void onRemovida(Long id) {
+        publicar(new Alteracao(Operacao.REMOVIDA, id, null, null));
+    }
+
+    /**
+     * Operação em massa (/tarefas/bulk/...): uma única passada no índice para todos os ids
+     * Completar não muda a posição: só as páginas que contêm algum dos ids
+     * Remover desloca todas as páginas por offset
+     */
+    public void onAlteradasEmMassa(Operacao operacao, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        AlteracaoEmMassa alteracao = new AlteracaoEmMassa(operacao, List.copyOf(ids));
+        aplicarEmMassa(alteracao);
+        if (bus != null) {
+            bus.publicarEvento(EVENTO_MASSA, alteracao);
+        }
+    }
+
+    private void publicar(Alteracao alteracao) {
+        aplicar(alteracao);
+        if (bus != null) {
+            bus.publicarEvento(EVENTO, alteracao);
+        }
+    }
+
+    /**
+     * Invalida as páginas deste nó afetadas pela alteração (local ou vinda de outro nó)
+     */
+    private void aplicar(Alteracao alteracao) {
+        long id = alteracao.id();
+        TarefaCursor posicao = new TarefaCursor(alteracao.dataCriacao(), id);
+        switch (alteracao.operacao()) {
+            case CRIADA -> invalidar(pagina -> !pagina.keyset() || pagina.cobre(posicao));
+            case ATUALIZADA -> {
+                boolean moveu = !Objects.equals(alteracao.dataCriacaoAnterior(), alteracao.dataCriacao());
+                invalidar(pagina -> pagina.contem(id) || pagina.filtrada()
+                        || (moveu && pagina.keyset() && pagina.cobre(posicao)));
+            }
+            case REMOVIDA -> invalidar(pagina -> !pagina.keyset() || pagina.contem(id));
+        }
+    }
+
+    private void aplicarEmMassa(AlteracaoEmMassa alteracao) {
+        long[] ids = alteracao.ids().stream().mapToLong(Long::longValue).toArray();
+        boolean remocao = alteracao.operacao() == Operacao.REMOVIDA;
+        invalidar(pagina -> (remocao && !pagina.keyset()) || pagina.filtrada() || pagina.contemAlgum(ids));
+    }
+
+    private void aplicarLote(Lote lote) {
+        invalidar(pagina -> !pagina.keyset() || pagina.cruza(lote.menor(), lote.maior()));
+    }
+
+    private void invalidar(Predicate<PaginaIndexada> afetada) {
+        // A lista completa contém todas as tarefas: sempre é afetada
+        evict(ALL);
+
+        List<String> keys = new ArrayList<>();
+        paginas.asMap().forEach((key, pagina) -> {
+            if (pagina.pendente() || afetada.test(pagina)) {
+                keys.add(key);
+            }
+        });
+        keys.forEach(key -> {
+            paginas.invalidate(key);
+            evict(key);
+        });
+    }
+
+    /**
+     * Invalida somente neste nó: os outros nós recebem a Alteracao e usam o próprio índice
+     */
+    private void evict(String key) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(CACHE);
+        if (cache instanceof InstrumentedCaffeineCache local) {
+            local.evictLocal(key);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static long[] ids(List<TarefaSnapshot> tarefas) {
+        return tarefas.stream()
+                .mapToLong(TarefaSnapshot::id)
+                .sorted()
+                .toArray();
+    }
+
+    public enum Operacao {
+        CRIADA,
+        ATUALIZADA,
+        REMOVIDA
+    }
+
+    /**
+     * Alteração de uma tarefa, aplicada no índice local e publicada para os outros nós
+     */
+    public record Alteracao(Operacao operacao, Long id, LocalDate dataCriacao, LocalDate dataCriacaoAnterior) {
+    }
+
+    /**
+     * Alteração de várias tarefas existentes (ATUALIZADA sem mudança de data, ou REMOVIDA)
+     */
+    public record AlteracaoEmMassa(Operacao operacao, List<Long> ids) {
+    }
+
+    /**
+     * Lote de tarefas criadas: menor e maior posição na ordem do keyset
+     */
+    public record Lote(TarefaCursor menor, TarefaCursor maior) {
+    }
+
+    /**
+     * Página indexada: ids ordenados e, no keyset, o intervalo (inicio, fim] que ela cobre
+     * Páginas filtradas são por offset e invalidadas por qualquer atualização
+     */
+    private record PaginaIndexada(long[] ids, boolean keyset, boolean filtrada, TarefaCursor inicio, TarefaCursor fim) {
+
+        /** Página em carga: ainda sem ids, então qualquer alteração a invalida */
+        static final PaginaIndexada PENDENTE = new PaginaIndexada(new long[0], false, false, null, null);
+
+        boolean pendente() {
+            return this == PENDENTE;
+        }
+
+        boolean contem(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        boolean contemAlgum(long[] outros) {
+            for (long id : outros) {
+                if (contem(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean cobre(TarefaCursor posicao) {
+            return cruza(posicao, posicao);
+        }
+
+        boolean cruza(TarefaCursor menor, TarefaCursor maior) {
+            return (inicio == null || menor.compareTo(inicio) < 0)
+                    && (fim == null || maior.compareTo(fim) >= 0);
+        }
+    }
+}
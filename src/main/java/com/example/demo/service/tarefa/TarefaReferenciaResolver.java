@@ -0,0 +1,118 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
+import com.example.demo.domain.model.tarefa.CategoriaSustentabilidade;
+import com.example.demo.domain.model.tarefa.MissaoSustentavel;
+import com.example.demo.domain.model.usuario.Usuario;
+import com.example.demo.repository.CategoriaSustentabilidadeRepository;
+import com.example.demo.repository.MissaoSustentavelRepository;
+import com.example.demo.repository.UsuarioRepository;
+import com.example.demo.service.usuario.UsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Resolve missão, categoria e usuário de uma tarefa sem SELECT por referência
+ * - Valida o id nas listas já cacheadas ("missoes", "categorias") e pega o nome dali
+ * - Usuário vem do cache por id ("usuario"): a lista de usuários pode não caber no cache
+ * - Devolve getReferenceById (proxy não inicializado): o INSERT só usa o id
+ * - Id fora do cache (lista desatualizada) é confirmado no banco antes de virar "não encontrado"
+ * - Se a referência sumir entre a validação e o INSERT, a FK do banco recusa (traduzirViolacao)
+ */
+@Component
+public class TarefaReferenciaResolver {
+
+    @Autowired
+    MissaoSustentavelService missaoService;
+
+    @Autowired
+    CategoriaSustentabilidadeService categoriaService;
+
+    @Autowired
+    UsuarioService usuarioService;
+
+    @Autowired
+    MissaoSustentavelRepository missaoRepository;
+
+    @Autowired
+    CategoriaSustentabilidadeRepository categoriaRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    public Referencia<MissaoSustentavel> missao(Long id) {
+        String nome = nomeEmCache(missaoService.listarTodasMissoesSustentaveis(), MissaoSustentavel::getId, MissaoSustentavel::getNome, id);
+        if (nome == null) {
+            nome = missaoRepository.findById(naoNulo(id, "Missão"))
+                    .map(MissaoSustentavel::getNome)
+                    .orElseThrow(() -> missaoNaoEncontrada(id));
+        }
+        return new Referencia<>(missaoRepository.getReferenceById(id), nome);
+    }
+
+    public Referencia<CategoriaSustentabilidade> categoria(Long id) {
+        String nome = nomeEmCache(categoriaService.listarTodasCategorias(), CategoriaSustentabilidade::getId, CategoriaSustentabilidade::getNome, id);
+        if (nome == null) {
+            nome = categoriaRepository.findById(naoNulo(id, "Categoria"))
+                    .map(CategoriaSustentabilidade::getNome)
+                    .orElseThrow(() -> categoriaNaoEncontrada(id));
+        }
+        return new Referencia<>(categoriaRepository.getReferenceById(id), nome);
+    }
+
+    public Referencia<Usuario> usuario(Long id) {
+        String nome = usuarioService.buscarSnapshot(naoNulo(id, "Usuário"))
+                .map(UsuarioSnapshot::username)
+                .orElseThrow(() -> usuarioNaoEncontrado(id));
+        return new Referencia<>(usuarioRepository.getReferenceById(id), nome);
+    }
+
+    /**
+     * Converte a violação de FK do INSERT/UPDATE de tarefa no mesmo erro de "não encontrado"
+     */
+    public RuntimeException traduzirViolacao(DataIntegrityViolationException ex, Long missaoId, Long categoriaId, Long usuarioId) {
+        String mensagem = String.valueOf(ex.getMostSpecificCause().getMessage());
+        if (mensagem.contains("fk_tarefa_missao")) return missaoNaoEncontrada(missaoId);
+        if (mensagem.contains("fk_tarefa_categoria")) return categoriaNaoEncontrada(categoriaId);
+        if (mensagem.contains("fk_tarefa_usuario")) return usuarioNaoEncontrado(usuarioId);
+        return ex;
+    }
+
+    private static <T> String nomeEmCache(List<T> itens, Function<T, Long> id, Function<T, String> nome, Long procurado) {
+        if (procurado == null) {
+            return null;
+        }
+        Predicate<T> mesmoId = item -> procurado.equals(id.apply(item));
+        return itens.stream().filter(mesmoId).findFirst().map(nome).orElse(null);
+    }
+
+    private static Long naoNulo(Long id, String tipo) {
+        if (id == null) {
+            throw new IllegalArgumentException(tipo + " é obrigatório(a)");
+        }
+        return id;
+    }
+
+    private static RuntimeException missaoNaoEncontrada(Long id) {
+        return new RuntimeException("Missão não encontrada com ID: " + id);
+    }
+
+    private static RuntimeException categoriaNaoEncontrada(Long id) {
+        return new RuntimeException("Categoria não encontrada com ID: " + id);
+    }
+
+    private static RuntimeException usuarioNaoEncontrado(Long id) {
+        return new RuntimeException("Usuário não encontrado com ID: " + id);
+    }
+
+    /**
+     * Referência resolvida: proxy para a associação e nome para a resposta
+     */
+    public record Referencia<T>(T entidade, String nome) {
+    }
+}
@@ -1,29 +1,86 @@
 package com.example.demo.service.tarefa;
 
+import com.example.demo.domain.model.dto.CursorPageResponse;
 import com.example.demo.domain.model.dto.PageResponse;
+import com.example.demo.domain.model.dto.tarefa.TarefaAtualizadaEvent;
+import com.example.demo.domain.model.dto.tarefa.TarefaBulkDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaBulkResponseDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaBuscaCursor;
+import com.example.demo.domain.model.dto.tarefa.TarefaCriadaEvent;
+import com.example.demo.domain.model.dto.tarefa.TarefaCursor;
 import com.example.demo.domain.model.dto.tarefa.TarefaDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaEstado;
+import com.example.demo.domain.model.dto.tarefa.TarefaFiltroDTO;
+import com.example.demo.domain.model.dto.tarefa.TarefaRemovidaEvent;
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.dto.usuario.PontosDelta;
 import com.example.demo.domain.model.tarefa.CategoriaSustentabilidade;
 import com.example.demo.domain.model.tarefa.MissaoSustentavel;
 import com.example.demo.domain.model.tarefa.Tarefa;
 import com.example.demo.domain.model.usuario.Usuario;
+import com.example.demo.infra.outbox.OutboxEvento;
+import com.example.demo.infra.outbox.OutboxService;
 import com.example.demo.repository.CategoriaSustentabilidadeRepository;
 import com.example.demo.repository.MissaoSustentavelRepository;
 import com.example.demo.repository.TarefaRepository;
+import com.example.demo.repository.TarefaSpecifications;
 import com.example.demo.repository.UsuarioRepository;
+import com.example.demo.service.usuario.PontosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TarefaService {
 
+    /**
+     * A cada quantas linhas exportadas o stream é descarregado e o contexto JPA é limpo
+     */
+    private static final int EXPORT_FLUSH_SIZE = 500;
+
+    /**
+     * Inserts por flush no lote, igual a hibernate.jdbc.batch_size
+     */
+    private static final int BATCH_FLUSH_SIZE = 50;
+
+    /**
+     * Máximo de tarefas por POST /tarefas/batch
+     */
+    private static final int BATCH_MAX_SIZE = 1000;
+
+    /**
+     * Tamanho máximo do texto de GET /tarefas/search
+     */
+    private static final int SEARCH_MAX_LENGTH = 200;
+
     @Autowired
     TarefaRepository tarefaRepository;
 
@@ -36,30 +93,114 @@ public class TarefaService {
     @Autowired
     CategoriaSustentabilidadeRepository categoriaSustentabilidadeRepository;
 
+    @Autowired
+    TarefaPageCacheIndex pageCacheIndex;
+
+    @Autowired
+    TarefaReferenciaResolver referencias;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    PontosService pontosService;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TarefaFeedService feedService;
+
+    @Autowired
+    OutboxService outboxService;
+
     /**
      * Lista todas as tarefas
+     * Os caches de tarefas guardam TarefaSnapshot (imutável, sem entidades associadas)
      */
-    @Cacheable(value = "tarefas", key = "'all'")
-    public List<Tarefa> listarTodasTarefas() {
+    @Cacheable(value = "tarefas", key = "'all'", sync = true)
+    public List<TarefaSnapshot> listarTodasTarefas() {
         System.out.println("🔍 [CACHE MISS] Buscando todas as tarefas no banco...");
-        return tarefaRepository.findAll();
+        return List.copyOf(tarefaRepository.findAllSnapshots());
+    }
+
+    /**
+     * Exporta todas as tarefas em NDJSON (um TarefaSnapshot JSON por linha, sem dados sensíveis do usuário)
+     * As linhas são escritas conforme chegam do cursor do banco, então a memória
+     * não cresce com o número de tarefas (sem lista materializada e sem cache)
+     */
+    @Transactional(readOnly = true)
+    public void exportarTarefas(OutputStream out) throws IOException {
+        try (Stream<TarefaSnapshot> tarefas = tarefaRepository.streamSnapshots()) {
+            Iterator<TarefaSnapshot> iterator = tarefas.iterator();
+            int linhas = 0;
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++linhas % EXPORT_FLUSH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Lista tarefas com paginação, ordenadas por id
+     * A página é registrada no TarefaPageCacheIndex para invalidação seletiva
+     */
+    @Cacheable(value = "tarefas", key = "T(com.example.demo.service.tarefa.TarefaPageCacheIndex).paginaKey(#page, #size)", sync = true)
+    public PageResponse<TarefaSnapshot> listarTarefasPaginadas(int page, int size) {
+
+        if (page < 0) throw new IllegalArgumentException("Page must be >= 0");
+        if (size < 1 || size > 100)
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+
+        // Ordem estável por id: uma atualização nunca move a tarefa de página
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        String key = TarefaPageCacheIndex.paginaKey(page, size);
+        pageCacheIndex.iniciarCarga(key);
+        Page<TarefaSnapshot> tarefasPage = tarefaRepository.findSnapshots(pageable);
+        pageCacheIndex.registrarPagina(key, tarefasPage.getContent());
+
+        return new PageResponse<>(
+                List.copyOf(tarefasPage.getContent()),
+                tarefasPage.getNumber(),
+                tarefasPage.getSize(),
+                tarefasPage.getTotalElements(),
+                tarefasPage.getTotalPages(),
+                tarefasPage.isFirst(),
+                tarefasPage.isLast()
+        );
     }
 
     /**
-     * Lista tarefas com paginação
+     * Lista tarefas filtradas por usuário, missão, categoria e/ou completado, ordenadas por id
+     * A consulta usa só os campos informados (TarefaSpecifications) e os índices (x_id, id) da V17
+     * Lê direto o TarefaSnapshot (projeção), sem carregar entidades nem o usuário com o hash da senha
+     * Cada combinação de filtro e página é uma entrada própria no cache "tarefas"
      */
-    @Cacheable(value = "tarefas", key = "'page:' + #page + ':size:' + #size")
-    public PageResponse<Tarefa> listarTarefasPaginadas(int page, int size) {
+    @Cacheable(value = "tarefas", key = "T(com.example.demo.service.tarefa.TarefaPageCacheIndex).filtroKey(#filtro, #page, #size)", sync = true)
+    public PageResponse<TarefaSnapshot> filtrarTarefas(TarefaFiltroDTO filtro, int page, int size) {
 
         if (page < 0) throw new IllegalArgumentException("Page must be >= 0");
         if (size < 1 || size > 100)
             throw new IllegalArgumentException("Page size must be between 1 and 100");
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Tarefa> tarefasPage = tarefaRepository.findAll(pageable);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        String key = TarefaPageCacheIndex.filtroKey(filtro, page, size);
+        pageCacheIndex.iniciarCarga(key);
+        Page<TarefaSnapshot> tarefasPage = tarefaRepository.findSnapshots(TarefaSpecifications.filtro(filtro), pageable);
+        pageCacheIndex.registrarPaginaFiltrada(key, tarefasPage.getContent());
 
         return new PageResponse<>(
-                tarefasPage.getContent(),
+                List.copyOf(tarefasPage.getContent()),
                 tarefasPage.getNumber(),
                 tarefasPage.getSize(),
                 tarefasPage.getTotalElements(),
@@ -69,20 +210,114 @@ public class TarefaService {
         );
     }
 
+    /**
+     * Lista tarefas por cursor (keyset), da mais recente para a mais antiga
+     * Cada página custa o mesmo que a primeira: sem OFFSET e sem COUNT(*)
+     * @param after Cursor opaco retornado em nextCursor (null para a primeira página)
+     * @param withTotal Se true, inclui o total aproximado das estatísticas do banco
+     */
+    @Cacheable(value = "tarefas", key = "T(com.example.demo.service.tarefa.TarefaPageCacheIndex).cursorKey(#after, #size, #withTotal)", sync = true)
+    public CursorPageResponse<TarefaSnapshot> listarTarefasPorCursor(String after, int size, boolean withTotal) {
+
+        if (size < 1 || size > 100)
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+
+        // Busca um item a mais para saber se existe próxima página
+        Pageable limite = PageRequest.ofSize(size + 1);
+        String key = TarefaPageCacheIndex.cursorKey(after, size, withTotal);
+        pageCacheIndex.iniciarCarga(key);
+        List<TarefaSnapshot> tarefas;
+        TarefaCursor inicio = null;
+        if (after == null || after.isBlank()) {
+            tarefas = tarefaRepository.findPrimeiraPagina(limite);
+        } else {
+            inicio = TarefaCursor.decode(after);
+            tarefas = tarefaRepository.findPaginaApos(inicio.dataCriacao(), inicio.id(), limite);
+        }
+
+        boolean hasNext = tarefas.size() > size;
+        List<TarefaSnapshot> content = hasNext ? tarefas.subList(0, size) : tarefas;
+
+        TarefaCursor fim = null;
+        if (hasNext) {
+            TarefaSnapshot ultima = content.get(content.size() - 1);
+            fim = new TarefaCursor(ultima.dataCriacao(), ultima.id());
+        }
+        pageCacheIndex.registrarPaginaCursor(key, content, inicio, fim);
+
+        Long approximateTotal = withTotal ? tarefaRepository.estimarTotal() : null;
+
+        return new CursorPageResponse<>(
+                List.copyOf(content),
+                size,
+                fim != null ? fim.encode() : null,
+                hasNext,
+                approximateTotal
+        );
+    }
+
+    /**
+     * Busca textual em título e descrição (português), da mais relevante para a menos relevante
+     * Paginada por cursor (rank, id); não é cacheada: o espaço de consultas é aberto
+     * @param q Termos da busca (sintaxe de buscador: "frase", -termo, or)
+     * @param after Cursor retornado em nextCursor (null para a primeira página)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TarefaSnapshot> buscarTarefas(String q, String after, int size) {
+
+        if (q == null || q.isBlank())
+            throw new IllegalArgumentException("Search query cannot be blank");
+        if (q.length() > SEARCH_MAX_LENGTH)
+            throw new IllegalArgumentException("Search query must have at most " + SEARCH_MAX_LENGTH + " characters");
+        if (size < 1 || size > 100)
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+
+        // Busca um item a mais para saber se existe próxima página
+        List<TarefaRepository.ResultadoBusca> resultados;
+        if (after == null || after.isBlank()) {
+            resultados = tarefaRepository.buscar(q, size + 1);
+        } else {
+            TarefaBuscaCursor inicio = TarefaBuscaCursor.decode(after);
+            resultados = tarefaRepository.buscarApos(q, inicio.rank(), inicio.id(), size + 1);
+        }
+
+        boolean hasNext = resultados.size() > size;
+        List<TarefaRepository.ResultadoBusca> pagina = hasNext ? resultados.subList(0, size) : resultados;
+
+        // Reordena os snapshots na ordem do rank
+        List<Long> ids = pagina.stream().map(TarefaRepository.ResultadoBusca::getId).toList();
+        Map<Long, TarefaSnapshot> porId = ids.isEmpty() ? Map.of() : tarefaRepository.findSnapshotsByIds(ids).stream()
+                .collect(Collectors.toMap(TarefaSnapshot::id, Function.identity()));
+        List<TarefaSnapshot> content = ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            TarefaRepository.ResultadoBusca ultimo = pagina.get(pagina.size() - 1);
+            nextCursor = new TarefaBuscaCursor(ultimo.getRank(), ultimo.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext, null);
+    }
+
     /**
      * Busca tarefa por ID
      */
-    @Cacheable(value = "tarefa", key = "#id")
-    public Tarefa buscarTarefaPorId(Long id) {
-        return tarefaRepository.findById(id)
+    @Cacheable(value = "tarefa", key = "#id", sync = true)
+    public TarefaSnapshot buscarTarefaPorId(Long id) {
+        return tarefaRepository.findSnapshotById(id)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com ID: " + id));
     }
 
     /**
-     * Cria nova tarefa e limpa o cache
+     * Cria nova tarefa e invalida apenas as páginas em cache afetadas
+     * Missão, categoria e usuário são validados no cache (TarefaReferenciaResolver):
+     * com o cache quente a criação custa só o INSERT e o do TarefaCriadaEvent no outbox (mais o saldo de pontos, se já completada)
      */
-    @CacheEvict(value = "tarefas", allEntries = true)
-    public Tarefa criarTarefa(TarefaDTO dto) {
+    @Transactional
+    public TarefaSnapshot criarTarefa(TarefaDTO dto) {
 
         Tarefa tarefa = new Tarefa();
         tarefa.setTitulo(dto.titulo());
@@ -91,32 +326,102 @@ public class TarefaService {
         tarefa.setDataCriacao(dto.dataCriacao());
         tarefa.setPoints(dto.points());
 
-        MissaoSustentavel missao = missaoSustentavelRepository.findById(dto.missaoId())
-                .orElseThrow(() -> new RuntimeException("Missão não encontrada com ID: " + dto.missaoId()));
-        tarefa.setMissao(missao);
+        TarefaReferenciaResolver.Referencia<MissaoSustentavel> missao = referencias.missao(dto.missaoId());
+        tarefa.setMissao(missao.entidade());
 
-        CategoriaSustentabilidade categoria = categoriaSustentabilidadeRepository.findById(dto.categoriaId())
-                .orElseThrow(() -> new RuntimeException("Categoria não encontrada com ID: " + dto.categoriaId()));
-        tarefa.setCategoria(categoria);
+        TarefaReferenciaResolver.Referencia<CategoriaSustentabilidade> categoria = referencias.categoria(dto.categoriaId());
+        tarefa.setCategoria(categoria.entidade());
 
-        Usuario usuario = usuarioRepository.findById(dto.usuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + dto.usuarioId()));
-        tarefa.setUsuario(usuario);
+        TarefaReferenciaResolver.Referencia<Usuario> usuario = referencias.usuario(dto.usuarioId());
+        tarefa.setUsuario(usuario.entidade());
 
-        return tarefaRepository.save(tarefa);
+        Tarefa salva = salvar(tarefa, dto);
+        registrarPontos(List.of(PontosService.delta(salva, 1)));
+        outboxService.registrar(List.of(eventoCriada(salva)));
+        aposCommit(() -> pageCacheIndex.onCriada(salva));
+        invalidarFeedsAposCommit(Collections.singletonList(usuarioId(salva)));
+        return TarefaSnapshot.of(salva, missao.nome(), categoria.nome(), usuario.nome());
     }
 
     /**
-     * Atualiza tarefa existente
+     * Cria várias tarefas em uma transação
+     * Missões, categorias e usuários referenciados são buscados uma vez por lote (findAllById),
+     * os inserts saem em JDBC batch e o cache é invalidado uma única vez no final
      */
-    @Caching(evict = {
-            @CacheEvict(value = "tarefa", key = "#id"),
-            @CacheEvict(value = "tarefas", allEntries = true)
-    })
-    public Tarefa atualizarTarefa(Long id, TarefaDTO dto) {
+    @Transactional
+    public List<TarefaSnapshot> criarTarefasEmLote(List<TarefaDTO> dtos) {
+
+        if (dtos == null || dtos.isEmpty())
+            throw new IllegalArgumentException("Batch must contain at least one task");
+        if (dtos.size() > BATCH_MAX_SIZE)
+            throw new IllegalArgumentException("Batch size must be at most " + BATCH_MAX_SIZE);
+
+        Map<Long, MissaoSustentavel> missoes = porId(missaoSustentavelRepository.findAllById(ids(dtos, TarefaDTO::missaoId)), MissaoSustentavel::getId);
+        Map<Long, CategoriaSustentabilidade> categorias = porId(categoriaSustentabilidadeRepository.findAllById(ids(dtos, TarefaDTO::categoriaId)), CategoriaSustentabilidade::getId);
+        Map<Long, Usuario> usuarios = porId(usuarioRepository.findAllById(ids(dtos, TarefaDTO::usuarioId)), Usuario::getId);
+
+        List<Tarefa> salvas = new ArrayList<>(dtos.size());
+        List<PontosDelta> pontos = new ArrayList<>(dtos.size());
+        for (TarefaDTO dto : dtos) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo(dto.titulo());
+            tarefa.setDescricao(dto.descricao());
+            tarefa.setCompletado(dto.completado());
+            tarefa.setDataCriacao(dto.dataCriacao());
+            tarefa.setPoints(dto.points());
+
+            MissaoSustentavel missao = missoes.get(dto.missaoId());
+            if (missao == null) throw new RuntimeException("Missão não encontrada com ID: " + dto.missaoId());
+            tarefa.setMissao(missao);
+
+            CategoriaSustentabilidade categoria = categorias.get(dto.categoriaId());
+            if (categoria == null) throw new RuntimeException("Categoria não encontrada com ID: " + dto.categoriaId());
+            tarefa.setCategoria(categoria);
+
+            Usuario usuario = usuarios.get(dto.usuarioId());
+            if (usuario == null) throw new RuntimeException("Usuário não encontrado com ID: " + dto.usuarioId());
+            tarefa.setUsuario(usuario);
+
+            // Com sequence o persist só reserva o id: o INSERT sai no flush, agrupado
+            entityManager.persist(tarefa);
+            salvas.add(tarefa);
+            pontos.add(PontosService.delta(tarefa, 1));
+            if (salvas.size() % BATCH_FLUSH_SIZE == 0) {
+                entityManager.flush();
+            }
+        }
+        entityManager.flush();
+        registrarPontos(pontos);
+        outboxService.registrar(salvas.stream().map(TarefaService::eventoCriada).toList());
+
+        aposCommit(() -> pageCacheIndex.onCriadas(salvas));
+        invalidarFeedsAposCommit(usuarios.keySet());
+        return salvas.stream().map(TarefaSnapshot::of).toList();
+    }
+
+    private static Set<Long> ids(List<TarefaDTO> dtos, Function<TarefaDTO, Long> campo) {
+        return dtos.stream()
+                .map(campo)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * Atualiza tarefa existente e invalida, depois do commit, o cache individual e só as páginas que a contêm
+     */
+    @Transactional
+    public TarefaSnapshot atualizarTarefa(Long id, TarefaDTO dto) {
 
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com ID: " + id));
+        LocalDate dataCriacaoAnterior = tarefa.getDataCriacao();
+        PontosDelta pontosAnteriores = PontosService.delta(tarefa, -1);
+        TarefaEstado estadoAnterior = TarefaEstado.of(tarefa);
+        Long usuarioAnterior = usuarioId(tarefa);
 
         tarefa.setTitulo(dto.titulo());
         tarefa.setDescricao(dto.descricao());
@@ -124,33 +429,216 @@ public class TarefaService {
         tarefa.setDataCriacao(dto.dataCriacao());
         tarefa.setPoints(dto.points());
 
+        // Associações atuais vêm no mesmo SELECT (grafo Tarefa.associacoes)
+        String missaoNome = tarefa.getMissao() != null ? tarefa.getMissao().getNome() : null;
+        String categoriaNome = tarefa.getCategoria() != null ? tarefa.getCategoria().getNome() : null;
+        String usuarioNome = tarefa.getUsuario() != null ? tarefa.getUsuario().getNome() : null;
+
         if (dto.categoriaId() != null) {
-            CategoriaSustentabilidade categoria = categoriaSustentabilidadeRepository.findById(dto.categoriaId())
-                    .orElseThrow(() -> new RuntimeException("Categoria não encontrada com ID: " + dto.categoriaId()));
-            tarefa.setCategoria(categoria);
+            TarefaReferenciaResolver.Referencia<CategoriaSustentabilidade> categoria = referencias.categoria(dto.categoriaId());
+            tarefa.setCategoria(categoria.entidade());
+            categoriaNome = categoria.nome();
         }
 
         if (dto.usuarioId() != null) {
-            Usuario usuario = usuarioRepository.findById(dto.usuarioId())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + dto.usuarioId()));
-            tarefa.setUsuario(usuario);
+            TarefaReferenciaResolver.Referencia<Usuario> usuario = referencias.usuario(dto.usuarioId());
+            tarefa.setUsuario(usuario.entidade());
+            usuarioNome = usuario.nome();
         }
 
-        return tarefaRepository.save(tarefa);
+        Tarefa salva = salvar(tarefa, dto);
+
+        // Tira do usuário/missão anteriores e soma nos atuais
+        registrarPontos(List.of(pontosAnteriores, PontosService.delta(salva, 1)));
+        outboxService.registrar(List.of(new OutboxEvento(TarefaAtualizadaEvent.TIPO, id,
+                new TarefaAtualizadaEvent(id, estadoAnterior, TarefaEstado.of(salva)))));
+
+        aposCommit(() -> {
+            evictTarefa(id);
+            pageCacheIndex.onAtualizada(salva, dataCriacaoAnterior);
+        });
+        invalidarFeedsAposCommit(Arrays.asList(usuarioAnterior, usuarioId(salva)));
+        return TarefaSnapshot.of(salva, missaoNome, categoriaNome, usuarioNome);
     }
 
     /**
-     * Remove uma tarefa
+     * Salva a tarefa; referência removida depois da validação é recusada pela FK do banco
+     * (flush imediato para a violação aparecer aqui, e não no commit)
      */
-    @Caching(evict = {
-            @CacheEvict(value = "tarefa", key = "#id"),
-            @CacheEvict(value = "tarefas", allEntries = true)
-    })
-    public void deletarTarefa(Long id) {
-        if (!tarefaRepository.existsById(id)) {
-            throw new RuntimeException("Tarefa não encontrada com ID: " + id);
+    private Tarefa salvar(Tarefa tarefa, TarefaDTO dto) {
+        try {
+            return tarefaRepository.saveAndFlush(tarefa);
+        } catch (DataIntegrityViolationException ex) {
+            throw referencias.traduzirViolacao(ex, dto.missaoId(), dto.categoriaId(), dto.usuarioId());
+        }
+    }
+
+    /**
+     * Marca como completadas as tarefas selecionadas (ids e/ou usuário e/ou missão)
+     * Em lotes de até BATCH_MAX_SIZE ids, na mesma transação: SELECT ... FOR UPDATE dos ids pendentes
+     * e um UPDATE por lote; só esses ids saem do cache
+     */
+    @Transactional
+    public TarefaBulkResponseDTO completarTarefas(TarefaBulkDTO filtro) {
+        validarLote(filtro);
+        int afetadas = 0;
+        List<Long> ids = selecionarParaLote(filtro, true, 0L);
+        while (!ids.isEmpty()) {
+            afetadas += completarLote(ids);
+            ids = ids.size() < BATCH_MAX_SIZE ? List.of() : selecionarParaLote(filtro, true, ids.get(ids.size() - 1));
+        }
+        return new TarefaBulkResponseDTO("completar", afetadas);
+    }
+
+    private int completarLote(List<Long> ids) {
+        List<PontosDelta> pontos = tarefaRepository.somarPontosPorMissaoUsuario(ids, false);
+        List<TarefaSnapshot> anteriores = tarefaRepository.findSnapshotsByIds(ids);
+        int afetadas = tarefaRepository.completarTodas(ids);
+        registrarPontos(pontos);
+        outboxService.registrar(anteriores.stream()
+                .map(tarefa -> new OutboxEvento(TarefaAtualizadaEvent.TIPO, tarefa.id(), new TarefaAtualizadaEvent(
+                        tarefa.id(), TarefaEstado.of(tarefa), TarefaEstado.of(tarefa).completada())))
+                .toList());
+        invalidarFeedsAposCommit(anteriores.stream().map(TarefaSnapshot::usuarioId).toList());
+        invalidarAposCommit(TarefaPageCacheIndex.Operacao.ATUALIZADA, ids);
+        return afetadas;
+    }
+
+    /**
+     * Remove as tarefas selecionadas (ids e/ou usuário e/ou missão) com um DELETE por lote de até BATCH_MAX_SIZE ids
+     */
+    @Transactional
+    public TarefaBulkResponseDTO deletarTarefas(TarefaBulkDTO filtro) {
+        validarLote(filtro);
+        int afetadas = 0;
+        List<Long> ids = selecionarParaLote(filtro, false, 0L);
+        while (!ids.isEmpty()) {
+            afetadas += removerLote(ids);
+            ids = ids.size() < BATCH_MAX_SIZE ? List.of() : selecionarParaLote(filtro, false, ids.get(ids.size() - 1));
         }
-        tarefaRepository.deleteById(id);
+        return new TarefaBulkResponseDTO("deletar", afetadas);
+    }
+
+    private int removerLote(List<Long> ids) {
+        // Só as completadas estão no saldo
+        List<PontosDelta> pontos = tarefaRepository.somarPontosPorMissaoUsuario(ids, true);
+        List<TarefaSnapshot> anteriores = tarefaRepository.findSnapshotsByIds(ids);
+        int afetadas = tarefaRepository.removerTodas(ids);
+        outboxService.registrar(anteriores.stream()
+                .map(tarefa -> new OutboxEvento(TarefaRemovidaEvent.TIPO, tarefa.id(), new TarefaRemovidaEvent(tarefa.id(), TarefaEstado.of(tarefa))))
+                .toList());
+        invalidarFeedsAposCommit(anteriores.stream().map(TarefaSnapshot::usuarioId).toList());
+        registrarPontos(pontos.stream().map(PontosDelta::negativo).toList());
+        invalidarAposCommit(TarefaPageCacheIndex.Operacao.REMOVIDA, ids);
+        return afetadas;
+    }
+
+    private static void validarLote(TarefaBulkDTO filtro) {
+        if (filtro == null || filtro.vazio())
+            throw new IllegalArgumentException("Inform ids, usuarioId or missaoId");
+        if (filtro.temIds() && filtro.ids().size() > BATCH_MAX_SIZE)
+            throw new IllegalArgumentException("Batch size must be at most " + BATCH_MAX_SIZE);
+    }
+
+    /**
+     * Próximo lote (ids > aposId, em ordem), no máximo BATCH_MAX_SIZE ids
+     */
+    private List<Long> selecionarParaLote(TarefaBulkDTO filtro, boolean apenasPendentes, long aposId) {
+        return tarefaRepository.findIdsParaLote(
+                filtro.temIds(),
+                filtro.temIds() ? filtro.ids() : List.of(-1L),
+                filtro.usuarioId(),
+                filtro.missaoId(),
+                apenasPendentes,
+                aposId,
+                PageRequest.of(0, BATCH_MAX_SIZE)
+        );
+    }
+
+    /**
+     * Invalida as tarefas alteradas ("tarefa" por id e as páginas que as contêm) depois do commit
+     */
+    private void invalidarAposCommit(TarefaPageCacheIndex.Operacao operacao, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        aposCommit(() -> {
+            ids.forEach(this::evictTarefa);
+            pageCacheIndex.onAlteradasEmMassa(operacao, ids);
+        });
+    }
+
+    /**
+     * Só chamado em aposCommit: o @CacheEvict junto do @Transactional pode rodar antes do commit
+     */
+    private void evictTarefa(Long id) {
+        Cache cache = cacheManager.getCache("tarefa");
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    /**
+     * Feed (GET /me/tarefas) só dos usuários cujas tarefas mudaram, depois do commit
+     */
+    private void invalidarFeedsAposCommit(Collection<Long> usuarioIds) {
+        aposCommit(() -> feedService.invalidar(usuarioIds));
+    }
+
+    private static OutboxEvento eventoCriada(Tarefa tarefa) {
+        return new OutboxEvento(TarefaCriadaEvent.TIPO, tarefa.getId(), TarefaCriadaEvent.of(tarefa));
+    }
+
+    private static Long usuarioId(Tarefa tarefa) {
+        return tarefa.getUsuario() != null ? tarefa.getUsuario().getId() : null;
+    }
+
+    /**
+     * Saldo materializado na transação atual; ranking em memória só depois do commit
+     */
+    private void registrarPontos(List<PontosDelta> deltas) {
+        pontosService.ajustar(deltas);
+        if (deltas.stream().allMatch(PontosDelta::vazio)) {
+            return;
+        }
+        // Versão dos deltas: a remontagem do ranking sabe se a leitura dela já os incluiu
+        Long transacao = tarefaRepository.transacaoAtual();
+        aposCommit(() -> leaderboardService.ajustar(deltas, transacao));
+    }
+
+    /**
+     * Executa depois do commit da transação atual (ou já, se não houver transação)
+     * Invalidar antes do commit deixaria uma leitura concorrente recolocar o valor antigo no cache
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Remove uma tarefa e invalida, depois do commit, o cache individual e as páginas afetadas
+     */
+    @Transactional
+    public void deletarTarefa(Long id) {
+        Tarefa tarefa = tarefaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com ID: " + id));
+        tarefaRepository.delete(tarefa);
+        registrarPontos(List.of(PontosService.delta(tarefa, -1)));
+        outboxService.registrar(List.of(new OutboxEvento(TarefaRemovidaEvent.TIPO, id,
+                new TarefaRemovidaEvent(id, TarefaEstado.of(tarefa)))));
+        aposCommit(() -> {
+            evictTarefa(id);
+            pageCacheIndex.onRemovida(id);
+        });
+        invalidarFeedsAposCommit(Collections.singletonList(usuarioId(tarefa)));
     }
 
 }
@@ -0,0 +1,123 @@
+package com.example.demo.service.usuario;
+
+import com.example.demo.domain.model.dto.usuario.PontosDTO;
+import com.example.demo.domain.model.dto.usuario.PontosDelta;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.repository.UsuarioPontosRepository;
+import com.example.demo.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Saldo de pontos materializado por usuário (tabela usuario_pontos)
+ * - Leitura O(1) pela chave primária, sem somar a tabela de tarefas
+ * - Atualizado por deltas dentro da transação das escritas do TarefaService
+ * - Reconciliação periódica em lotes corrige qualquer divergência (ex: SQL manual)
+ */
+@Service
+public class PontosService {
+
+    @Autowired
+    UsuarioPontosRepository repository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    TransactionOperations transacao;
+
+    @Value("${app.pontos.reconciliacao.batch-size:500}")
+    int batchSize;
+
+    /**
+     * Quanto uma tarefa soma ao saldo do seu usuário: os pontos, se completada
+     */
+    public static long contribuicao(Tarefa tarefa) {
+        return tarefa.isCompletado() ? tarefa.getPoints() : 0;
+    }
+
+    /**
+     * Delta de uma tarefa no saldo e no ranking (ids lidos sem inicializar os proxies)
+     * @param sinal 1 para somar a contribuição da tarefa, -1 para retirar
+     */
+    public static PontosDelta delta(Tarefa tarefa, int sinal) {
+        return new PontosDelta(
+                tarefa.getMissao() != null ? tarefa.getMissao().getId() : null,
+                tarefa.getUsuario() != null ? tarefa.getUsuario().getId() : null,
+                sinal * contribuicao(tarefa)
+        );
+    }
+
+    /**
+     * Aplica um delta ao saldo; deve rodar na transação da escrita que o originou
+     */
+    public void ajustar(Long usuarioId, long delta) {
+        if (usuarioId != null && delta != 0) {
+            repository.somar(usuarioId, delta);
+        }
+    }
+
+    /**
+     * Agrupa os deltas por usuário: um UPSERT por usuário afetado
+     * Em ordem de usuário, a mesma da reconciliação: as travas de linha não formam ciclo (deadlock)
+     */
+    public void ajustar(List<PontosDelta> deltas) {
+        Map<Long, Long> porUsuario = new TreeMap<>();
+        deltas.forEach(delta -> {
+            if (delta.usuarioId() != null) {
+                porUsuario.merge(delta.usuarioId(), delta.pontos(), Long::sum);
+            }
+        });
+        porUsuario.forEach(this::ajustar);
+    }
+
+    /**
+     * Saldo do usuário: uma leitura por chave primária
+     */
+    public PontosDTO consultar(Long usuarioId) {
+        return repository.findById(usuarioId)
+                .map(saldo -> new PontosDTO(saldo.getUsuarioId(), saldo.getPontos(), saldo.getAtualizadoEm()))
+                .orElseGet(() -> {
+                    // Usuário sem linha ainda (nenhuma tarefa completada desde a criação)
+                    if (!usuarioRepository.existsById(usuarioId)) {
+                        throw new RuntimeException("Usuário não encontrado com ID: " + usuarioId);
+                    }
+                    return new PontosDTO(usuarioId, 0, null);
+                });
+    }
+
+    /**
+     * Reconstrói o saldo de todos os usuários a partir das tarefas, em lotes
+     * Cada lote é uma transação curta: não trava a tabela inteira
+     * No lote, as linhas de saldo são travadas antes da soma; assim um delta commitado durante
+     * a reconciliação nunca é sobrescrito por uma soma calculada antes dele
+     * @return Usuários reconciliados
+     */
+    @Scheduled(cron = "${app.pontos.reconciliacao.cron:0 0 3 * * *}")
+    public int reconciliar() {
+        long inicio = System.currentTimeMillis();
+        long ultimoId = 0;
+        int total = 0;
+        List<Long> lote;
+        while (!(lote = repository.findProximosUsuarios(ultimoId, batchSize)).isEmpty()) {
+            List<Long> usuarios = lote;
+            transacao.executeWithoutResult(status -> {
+                repository.garantirLinhas(usuarios);
+                repository.travar(usuarios);
+                repository.reconstruir(usuarios);
+            });
+            total += lote.size();
+            ultimoId = lote.get(lote.size() - 1);
+        }
+        System.out.println("✅ [PONTOS] Saldo reconciliado para " + total + " usuários em "
+                + (System.currentTimeMillis() - inicio) + "ms");
+        return total;
+    }
+}
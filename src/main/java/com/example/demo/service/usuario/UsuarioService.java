@@ -1,15 +1,31 @@
 package com.example.demo.service.usuario;
 
+import com.example.demo.domain.model.dto.tarefa.TarefaBulkDTO;
 import com.example.demo.domain.model.dto.usuario.UsuarioDTO;
+import com.example.demo.domain.model.dto.usuario.UsuarioSnapshot;
 import com.example.demo.domain.model.usuario.Usuario;
+import com.example.demo.infra.security.PrincipalCache;
+import com.example.demo.infra.security.SenhaHashExecutor;
 import com.example.demo.repository.UsuarioRepository;
+import com.example.demo.service.tarefa.TarefaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UsuarioService {
@@ -17,14 +33,33 @@ public class UsuarioService {
     @Autowired
     UsuarioRepository repository;
 
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    SenhaHashExecutor senhaHashExecutor;
+
+    /** Executor de tarefas da aplicação: grava o usuário depois do hash, fora do pool do BCrypt */
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    Executor taskExecutor;
+
+    /** @Lazy: TarefaService depende deste serviço pelo TarefaReferenciaResolver */
+    @Autowired
+    @Lazy
+    TarefaService tarefaService;
+
+    @Autowired
+    CacheManager cacheManager;
+
     /**
      * Lista todos os usuários com cache
-     * Cache: "usuarios" - lista completa de usuários
+     * Cache: "usuarios" - lista completa de usuários (UsuarioSnapshot, sem o hash da senha)
      */
-    @Cacheable(value = "usuarios", key = "'all'")
-    public List<Usuario> listarTodosUsuarios() {
+    @Cacheable(value = "usuarios", key = "'all'", sync = true)
+    public List<UsuarioSnapshot> listarTodosUsuarios() {
         System.out.println("🔍 [CACHE MISS] Buscando usuários no banco de dados...");
-        List<Usuario> usuarios = repository.findAll();
+        List<UsuarioSnapshot> usuarios = List.copyOf(repository.findAllSnapshots());
         System.out.println("✅ [CACHE MISS] Encontrados " + usuarios.size() + " usuários no banco");
         return usuarios;
     }
@@ -39,34 +74,91 @@ public class UsuarioService {
     }
 
     /**
-     * Atualiza um usuário e invalida o cache da lista
+     * Busca o UsuarioSnapshot por id, com cache individual
+     * Pode ser cacheado porque não tem o hash da senha
+     * sync: um único SELECT por id mesmo com muitas escritas de tarefa do mesmo usuário ao mesmo tempo
+     * Id inexistente fica cacheado como vazio até o expire-after-write curto de app.cache.specs.usuario
      */
-    @CacheEvict(value = "usuarios", key = "'all'")
-    public Usuario editarUsuario(Long id, UsuarioDTO dto) {
+    @Cacheable(value = "usuario", key = "#id", sync = true)
+    public Optional<UsuarioSnapshot> buscarSnapshot(Long id) {
+        System.out.println("🔍 [CACHE MISS] Buscando usuário ID " + id + " no banco de dados...");
+        return repository.findSnapshotById(id);
+    }
+
+    /**
+     * Atualiza um usuário e invalida o cache da lista, o individual e o principal (e-mail antigo e novo)
+     * Com senha nova, o hash roda no pool do BCrypt (fila cheia recusa com 503) e o save no taskExecutor;
+     * a thread da requisição não espera. Os @CacheEvict rodam quando o future completa
+     */
+    @Caching(evict = {
+            @CacheEvict(value = "usuario", key = "#id"),
+            @CacheEvict(value = "usuarios", key = "'all'")
+    })
+    public CompletableFuture<Usuario> editarUsuario(Long id, UsuarioDTO dto) {
         Usuario usuario = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + id));
-        
+
+        if (dto.password() == null || dto.password().isEmpty()) {
+            return CompletableFuture.completedFuture(salvar(usuario, dto, null));
+        }
+        return senhaHashExecutor.encode(dto.password())
+                .thenApplyAsync(encryptedPassword -> salvar(usuario, dto, encryptedPassword), taskExecutor);
+    }
+
+    private Usuario salvar(Usuario usuario, UsuarioDTO dto, String encryptedPassword) {
+        String emailAnterior = usuario.getEmail();
+
         usuario.setUsername(dto.username());
         usuario.setEmail(dto.email());
-        
-        // Criptografar a senha se fornecida
-        if (dto.password() != null && !dto.password().isEmpty()) {
-            String encryptedPassword = new BCryptPasswordEncoder().encode(dto.password());
+        if (encryptedPassword != null) {
             usuario.setPassword(encryptedPassword);
         }
-        
         usuario.setRole(dto.role());
-        return repository.save(usuario);
+
+        Usuario salvo = repository.save(usuario);
+        principalCache.invalidar(emailAnterior, salvo.getEmail());
+        return salvo;
     }
 
     /**
-     * Deleta um usuário e invalida o cache da lista
+     * Deleta um usuário e as tarefas dele na mesma transação
+     * As tarefas saem pelo deletarTarefas (e não pelo ON DELETE CASCADE da FK) para gravar os eventos
+     * tarefa.removida das projeções e ajustar ranking, pontos e caches de tarefa
+     * Caches do usuário (lista, individual e principal) são invalidados depois do commit
      */
-    @CacheEvict(value = "usuarios", key = "'all'")
+    @Transactional
     public void excluirUsuario(Long id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Usuário não encontrado com ID: " + id);
+        Usuario usuario = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + id));
+        tarefaService.deletarTarefas(new TarefaBulkDTO(null, id, null));
+        repository.delete(usuario);
+        aposCommit(() -> {
+            evict("usuario", id);
+            evict("usuarios", "all");
+            principalCache.invalidar(usuario.getEmail());
+        });
+    }
+
+    private void evict(String nome, Object chave) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null) {
+            cache.evict(chave);
+        }
+    }
+
+    /**
+     * Executa depois do commit da transação atual (ou já, se não houver transação)
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
         }
-        repository.deleteById(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
     }
 }
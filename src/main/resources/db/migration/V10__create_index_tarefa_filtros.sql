@@ -0,0 +1,10 @@
+-- Índices dos filtros de GET /tarefas/filter (usuário, missão ou categoria, com ou sem completado)
+-- O id no fim atende o ORDER BY id da paginação sem sort extra
+CREATE INDEX IF NOT EXISTS idx_tarefa_usuario_completado_id
+    ON tarefa (usuario_id, completado, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefa_missao_completado_id
+    ON tarefa (missao_id, completado, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefa_categoria_completado_id
+    ON tarefa (categoria_id, completado, id);
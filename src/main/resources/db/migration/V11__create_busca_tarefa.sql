@@ -0,0 +1,11 @@
+-- Busca textual (GET /tarefas/search): tsvector em português mantido pelo próprio PostgreSQL
+-- Título pesa mais (A) que a descrição (B) no ts_rank
+ALTER TABLE tarefa
+    ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(titulo, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tarefa_busca
+    ON tarefa USING GIN (busca);
@@ -0,0 +1,4 @@
+-- Feed do usuário (GET /me/tarefas): filtro por usuário e completado e keyset (data_criacao, id)
+-- Com usuario_id e completado fixos a página sai do índice já ordenada, sem sort
+CREATE INDEX IF NOT EXISTS idx_tarefa_usuario_feed
+    ON tarefa (usuario_id, completado, data_criacao DESC, id DESC);
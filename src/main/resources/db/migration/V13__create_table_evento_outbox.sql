@@ -0,0 +1,15 @@
+-- Outbox transacional: eventos gravados na mesma transação da escrita e publicados depois pelo OutboxRelay
+-- id por linha (BIGSERIAL) para a ordem de publicação acompanhar a ordem de inserção
+CREATE TABLE IF NOT EXISTS evento_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(100) NOT NULL,
+    agregado_id BIGINT,
+    payload JSONB NOT NULL,
+    criado_em TIMESTAMPTZ NOT NULL DEFAULT now(),
+    publicado_em TIMESTAMPTZ
+);
+
+-- Só os pendentes: o relay lê sempre o início desta lista
+CREATE INDEX IF NOT EXISTS idx_evento_outbox_pendente
+    ON evento_outbox (id)
+    WHERE publicado_em IS NULL;
@@ -0,0 +1,51 @@
+-- Agregados mantidos de forma assíncrona a partir dos eventos de tarefa do evento_outbox (ProjecaoTarefasService)
+CREATE TABLE IF NOT EXISTS missao_progresso (
+    missao_id BIGINT PRIMARY KEY,
+    total_tarefas BIGINT NOT NULL DEFAULT 0,
+    tarefas_completadas BIGINT NOT NULL DEFAULT 0,
+    pontos_completados BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS categoria_totais (
+    categoria_id BIGINT PRIMARY KEY,
+    total_tarefas BIGINT NOT NULL DEFAULT 0,
+    tarefas_completadas BIGINT NOT NULL DEFAULT 0,
+    pontos_completados BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Último evento aplicado por cada consumidor; 0 = consumir (ou reprocessar) desde o início
+CREATE TABLE IF NOT EXISTS projecao_offset (
+    nome VARCHAR(100) PRIMARY KEY,
+    ultimo_evento_id BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT now()
+);
+
+INSERT INTO projecao_offset (nome) VALUES ('tarefas') ON CONFLICT (nome) DO NOTHING;
+
+-- Hora da inserção (e não do início da transação): o consumidor só lê eventos com alguns segundos,
+-- para não passar o offset por cima de um id cuja transação ainda não fez commit
+ALTER TABLE evento_outbox ALTER COLUMN criado_em SET DEFAULT clock_timestamp();
+
+-- Tarefas anteriores ao outbox entram no log como criadas, para o replay desde o início ficar completo
+-- Já marcadas como publicadas: o relay não reenvia o histórico para o broker
+INSERT INTO evento_outbox (tipo, agregado_id, payload, publicado_em)
+SELECT 'tarefa.criada',
+       t.id,
+       jsonb_build_object(
+           'tarefaId', t.id,
+           'titulo', t.titulo,
+           'usuarioId', t.usuario_id,
+           'categoriaId', t.categoria_id,
+           'dataCriacao', to_char(t.data_criacao, 'YYYY-MM-DD') || 'T00:00:00Z',
+           'missaoId', t.missao_id,
+           'completado', COALESCE(t.completado, FALSE),
+           'points', COALESCE(t.points, 0)
+       ),
+       now()
+FROM tarefa t
+WHERE NOT EXISTS (
+    SELECT 1 FROM evento_outbox e WHERE e.tipo = 'tarefa.criada' AND e.agregado_id = t.id
+)
+ORDER BY t.id;
@@ -0,0 +1,18 @@
+-- Transação que gravou cada evento (txid_current()): as projeções consomem em ordem (transacao, id)
+-- e só eventos de transações já encerradas (abaixo do xmin do snapshot), então nenhum commit atrasado fica para trás do offset
+ALTER TABLE evento_outbox ADD COLUMN IF NOT EXISTS transacao BIGINT;
+UPDATE evento_outbox SET transacao = txid_current() WHERE transacao IS NULL;
+ALTER TABLE evento_outbox ALTER COLUMN transacao SET DEFAULT txid_current();
+ALTER TABLE evento_outbox ALTER COLUMN transacao SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_evento_outbox_transacao
+    ON evento_outbox (transacao, id);
+
+-- Posição do consumidor: já aplicou os eventos visíveis em snapshot_base (agregados reconstruídos a partir
+-- das tarefas no replay) e, depois dele, todos até (ultima_transacao, ultimo_evento_id)
+-- '1:1:' = snapshot vazio (nada visível): consumo desde o início do log
+ALTER TABLE projecao_offset ADD COLUMN IF NOT EXISTS ultima_transacao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projecao_offset ADD COLUMN IF NOT EXISTS snapshot_base TEXT NOT NULL DEFAULT '1:1:';
+
+-- Eventos existentes receberam a transação desta migração: o offset por id continua valendo para eles
+UPDATE projecao_offset SET ultima_transacao = txid_current();
@@ -0,0 +1,8 @@
+-- Feed do usuário sem filtro de completado (GET /me/tarefas e a janela do TarefaFeedService)
+-- O idx_tarefa_usuario_feed tem completado na segunda coluna: sem igualdade nela a ordem (data_criacao, id)
+-- não sai do índice e o PostgreSQL ordenava todas as tarefas do usuário
+-- Aqui a leitura para no LIMIT; o INCLUDE cobre as colunas de tarefa do SNAPSHOT, menos descricao (TEXT),
+-- que vem do heap só para as linhas da página. Nomes de missão, categoria e usuário vêm dos JOINs por PK
+CREATE INDEX IF NOT EXISTS idx_tarefa_usuario_recentes
+    ON tarefa (usuario_id, data_criacao DESC, id DESC)
+    INCLUDE (titulo, completado, points, missao_id, categoria_id);
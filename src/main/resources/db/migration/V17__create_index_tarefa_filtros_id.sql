@@ -0,0 +1,12 @@
+-- GET /tarefas/filter só por usuário, missão ou categoria (sem completado), ORDER BY id
+-- Nos índices da V10 completado é a segunda coluna: sem igualdade nela a ordem por id não sai do índice
+-- e todas as tarefas do filtro eram ordenadas. Com (x_id, id) a página é lida em ordem e para no LIMIT
+-- Combinações de dois ids (ex: usuário e missão) ainda ordenam o resultado do filtro
+CREATE INDEX IF NOT EXISTS idx_tarefa_usuario_id
+    ON tarefa (usuario_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefa_missao_id
+    ON tarefa (missao_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefa_categoria_id
+    ON tarefa (categoria_id, id);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_tarefa_data_criacao_id
+    ON tarefa (data_criacao DESC, id DESC);
@@ -0,0 +1,9 @@
+-- Ids de tarefa gerados pela aplicação a partir de tarefa_seq com otimizador pooled (allocationSize = 50)
+-- Cada nextval reserva 50 ids (valor - 49 até valor), o que permite inserts em lote via JDBC batch
+CREATE SEQUENCE IF NOT EXISTS tarefa_seq INCREMENT BY 50;
+
+-- Primeiro bloco começa logo após o maior id existente
+SELECT setval('tarefa_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tarefa), false);
+
+-- O default do SERIAL geraria ids dentro dos blocos reservados pela aplicação
+ALTER TABLE tarefa ALTER COLUMN id DROP DEFAULT;
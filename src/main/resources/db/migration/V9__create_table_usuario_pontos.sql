@@ -0,0 +1,18 @@
+-- Saldo de pontos materializado por usuário: soma de tarefa.points das tarefas completadas
+-- Mantido incrementalmente pelo TarefaService e reconstruído em lotes pelo PontosService
+CREATE TABLE usuario_pontos (
+    usuario_id BIGINT PRIMARY KEY,
+    pontos BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_usuario_pontos_usuario
+        FOREIGN KEY (usuario_id)
+        REFERENCES usuario (id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO usuario_pontos (usuario_id, pontos)
+SELECT u.id, COALESCE(SUM(t.points) FILTER (WHERE t.completado), 0)
+FROM usuario u
+LEFT JOIN tarefa t ON t.usuario_id = u.id
+GROUP BY u.id;
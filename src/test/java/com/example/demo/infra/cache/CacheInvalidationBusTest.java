@@ -0,0 +1,96 @@
+package com.example.demo.infra.cache;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.service.tarefa.TarefaPageCacheIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois nós ligados pelo broker loopback (app.cache.bus.mode=loopback)
+ */
+class CacheInvalidationBusTest {
+
+    private final LoopbackCacheInvalidationTransport broker = new LoopbackCacheInvalidationTransport();
+
+    @Test
+    void evictEmUmNoInvalidaAChaveNosOutros() {
+        No a = new No(broker);
+        No b = new No(broker);
+        b.cache("tarefa").put(1L, "tarefa 1");
+        b.cache("tarefa").put(2L, "tarefa 2");
+
+        a.cache("tarefa").evict(1L);
+        a.bus.flush();
+
+        assertThat(b.cache("tarefa").get(1L)).isNull();
+        assertThat(b.cache("tarefa").get(2L)).isNotNull();
+    }
+
+    @Test
+    void invalidacoesSaoEnviadasEmUmUnicoLote() {
+        AtomicInteger mensagens = new AtomicInteger();
+        broker.assinar(message -> mensagens.incrementAndGet());
+        No a = new No(broker);
+        No b = new No(broker);
+        b.cache("recompensas").put("all", List.of("recompensa"));
+
+        for (long id = 1; id <= 50; id++) {
+            a.cache("recompensa").evict(id);
+            a.cache("recompensas").evict("all");
+        }
+        a.bus.flush();
+
+        assertThat(mensagens).hasValue(1);
+        assertThat(b.cache("recompensas").get("all")).isNull();
+    }
+
+    @Test
+    void alteracaoDeTarefaInvalidaAsPaginasDoOutroNo() {
+        No a = new No(broker);
+        No b = new No(broker);
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(7L);
+        tarefa.setDataCriacao(LocalDate.of(2025, 1, 1));
+
+        // A página existe apenas no cache do nó B
+        String key = TarefaPageCacheIndex.paginaKey(0, 10);
+        b.pageIndex.registrarPagina(key, List.of(TarefaSnapshot.of(tarefa)));
+        b.cache(TarefaPageCacheIndex.CACHE).put(key, List.of(TarefaSnapshot.of(tarefa)));
+
+        a.pageIndex.onAtualizada(tarefa, tarefa.getDataCriacao());
+        a.bus.flush();
+
+        assertThat(b.cache(TarefaPageCacheIndex.CACHE).get(key)).isNull();
+    }
+
+    private static class No {
+
+        private final InstrumentedCaffeineCacheManager cacheManager;
+        private final CacheInvalidationBus bus;
+        private final TarefaPageCacheIndex pageIndex;
+
+        No(CacheInvalidationTransport transport) {
+            cacheManager = new InstrumentedCaffeineCacheManager(new CacheKeyPrefixMetrics(new SimpleMeterRegistry()));
+            cacheManager.setCacheNames(List.of("tarefa", "tarefas", "recompensa", "recompensas"));
+            ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+            bus = new CacheInvalidationBus(cacheManager, objectMapper, Optional.of(transport), 500);
+            pageIndex = new TarefaPageCacheIndex(cacheManager);
+            pageIndex.setBus(bus);
+        }
+
+        Cache cache(String name) {
+            return cacheManager.getCache(name);
+        }
+    }
+}
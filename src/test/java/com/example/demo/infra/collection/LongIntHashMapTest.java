@@ -0,0 +1,73 @@
+package com.example.demo.infra.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o mapa primitivo com um HashMap, incluindo redimensionamento e remoção por deslocamento
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void putGetRemove() {
+        LongIntHashMap mapa = new LongIntHashMap();
+        mapa.put(1, 10);
+        mapa.put(2, 20);
+        mapa.put(1, 11);
+
+        assertThat(mapa.size()).isEqualTo(2);
+        assertThat(mapa.get(1, 0)).isEqualTo(11);
+        assertThat(mapa.get(3, -1)).isEqualTo(-1);
+
+        mapa.remove(1);
+        mapa.remove(3);
+
+        assertThat(mapa.size()).isEqualTo(1);
+        assertThat(mapa.containsKey(1)).isFalse();
+        assertThat(mapa.get(2, 0)).isEqualTo(20);
+    }
+
+    @Test
+    void cresceAlemDaCapacidadeInicial() {
+        LongIntHashMap mapa = new LongIntHashMap();
+        for (long id = 1; id <= 10_000; id++) {
+            mapa.put(id, (int) id * 2);
+        }
+
+        assertThat(mapa.size()).isEqualTo(10_000);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(mapa.get(id, -1)).isEqualTo((int) id * 2);
+        }
+    }
+
+    @Test
+    void equivaleAoHashMapSobRemocoes() {
+        LongIntHashMap mapa = new LongIntHashMap(4);
+        Map<Long, Integer> esperado = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 50_000; i++) {
+            // Poucas chaves distintas: muitas colisões e remoções no meio das sequências de sondagem
+            long chave = random.nextInt(2_000) * 1_024L;
+            if (random.nextInt(3) == 0) {
+                mapa.remove(chave);
+                esperado.remove(chave);
+            } else {
+                int valor = random.nextInt();
+                mapa.put(chave, valor);
+                esperado.put(chave, valor);
+            }
+        }
+
+        assertThat(mapa.size()).isEqualTo(esperado.size());
+        esperado.forEach((chave, valor) -> assertThat(mapa.get(chave, 0)).isEqualTo(valor));
+        Map<Long, Integer> percorrido = new HashMap<>();
+        mapa.forEach(percorrido::put);
+        assertThat(percorrido).isEqualTo(esperado);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.infra.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a treap com um TreeSet sob inserções e remoções aleatórias
+ */
+class LongRankTreeTest {
+
+    @Test
+    void addRemoveECountGreaterThan() {
+        LongRankTree tree = new LongRankTree();
+        tree.add(10);
+        tree.add(30);
+        tree.add(20);
+
+        assertThat(tree.size()).isEqualTo(3);
+        assertThat(tree.countGreaterThan(5)).isEqualTo(3);
+        assertThat(tree.countGreaterThan(20)).isEqualTo(1);
+        assertThat(tree.countGreaterThan(30)).isEqualTo(0);
+        assertThat(tree.largest(2)).containsExactly(30L, 20L);
+
+        tree.remove(30);
+        tree.remove(99);
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.countGreaterThan(10)).isEqualTo(1);
+        assertThat(tree.largest(5)).containsExactly(20L, 10L);
+    }
+
+    @Test
+    void largestDeArvoreVazia() {
+        LongRankTree tree = new LongRankTree();
+
+        assertThat(tree.largest(3)).isEmpty();
+        assertThat(tree.countGreaterThan(0)).isEqualTo(0);
+    }
+
+    @Test
+    void reusaNosLiberadosSemCrescer() throws Exception {
+        LongRankTree tree = new LongRankTree();
+        for (long v = 1; v <= 10; v++) {
+            tree.add(v);
+        }
+        int capacidade = capacidade(tree);
+        // Remover e inserir de novo várias vezes: os nós voltam da lista de livres
+        for (int rodada = 0; rodada < 100; rodada++) {
+            for (long v = 1; v <= 10; v++) {
+                tree.remove(v);
+            }
+            for (long v = 1; v <= 10; v++) {
+                tree.add(v + rodada);
+            }
+            for (long v = 1; v <= 10; v++) {
+                tree.remove(v + rodada);
+            }
+            for (long v = 1; v <= 10; v++) {
+                tree.add(v);
+            }
+        }
+
+        assertThat(capacidade(tree)).isEqualTo(capacidade);
+        assertThat(tree.size()).isEqualTo(10);
+        assertThat(tree.largest(3)).containsExactly(10L, 9L, 8L);
+    }
+
+    @Test
+    void equivaleAoTreeSetComCrescimento() {
+        LongRankTree tree = new LongRankTree();
+        TreeSet<Long> esperado = new TreeSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long valor = random.nextInt(5_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                tree.remove(valor);
+                esperado.remove(valor);
+            } else if (!esperado.contains(valor)) {
+                tree.add(valor);
+                esperado.add(valor);
+            }
+            if (i % 500 == 0) {
+                long consulta = random.nextInt(5_000) - 1_000;
+                assertThat(tree.countGreaterThan(consulta)).isEqualTo(esperado.tailSet(consulta, false).size());
+            }
+        }
+
+        assertThat(tree.size()).isEqualTo(esperado.size());
+        long[] maiores = tree.largest(50);
+        Long[] esperados = esperado.descendingSet().stream().limit(50).toArray(Long[]::new);
+        assertThat(maiores).containsExactly(esperados);
+    }
+
+    private static int capacidade(LongRankTree tree) throws Exception {
+        var campo = LongRankTree.class.getDeclaredField("chave");
+        campo.setAccessible(true);
+        return ((long[]) campo.get(tree)).length;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.infra.outbox;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import com.example.demo.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Relay contra o broker loopback (app.outbox.relay.mode=loopback), com o outbox em memória
+ */
+class OutboxRelayTest {
+
+    private final LoopbackOutboxTransport broker = new LoopbackOutboxTransport();
+
+    private final TreeMap<Long, EventoOutbox> outbox = new TreeMap<>();
+
+    private final OutboxRelay relay = new OutboxRelay(
+            repositorioEmMemoria(), Optional.of(broker), TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), 2);
+
+    @Test
+    void publicaOsPendentesEmOrdemEmLotes() {
+        for (long id = 1; id <= 5; id++) {
+            gravar(id);
+        }
+
+        relay.drenar();
+
+        assertThat(broker.getRecebidos()).extracting(EventoOutbox::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(outbox.values()).allMatch(evento -> evento.getPublicadoEm() != null);
+    }
+
+    @Test
+    void brokerIndisponivelNaoMarcaNadaEOLoteVoltaNaProximaRodada() {
+        gravar(1L);
+        gravar(2L);
+
+        broker.setConectado(false);
+        relay.drenar();
+
+        assertThat(broker.getRecebidos()).isEmpty();
+        assertThat(outbox.values()).allMatch(evento -> evento.getPublicadoEm() == null);
+
+        broker.setConectado(true);
+        relay.drenar();
+
+        assertThat(broker.getRecebidos()).extracting(EventoOutbox::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void eventoPublicadoNaoEReenviado() {
+        gravar(1L);
+        relay.drenar();
+        gravar(2L);
+        relay.drenar();
+
+        assertThat(broker.getRecebidos()).extracting(EventoOutbox::getId).containsExactly(1L, 2L);
+    }
+
+    private void gravar(Long id) {
+        outbox.put(id, new EventoOutbox(id, "tarefa.criada", id, "{\"tarefaId\":" + id + "}", OffsetDateTime.now(), null, 1L));
+    }
+
+    private EventoOutboxRepository repositorioEmMemoria() {
+        EventoOutboxRepository repository = mock(EventoOutboxRepository.class);
+        when(repository.findPendentes(anyInt())).thenAnswer(invocation -> {
+            int limite = invocation.getArgument(0);
+            List<EventoOutbox> pendentes = new ArrayList<>();
+            for (EventoOutbox evento : outbox.values()) {
+                if (evento.getPublicadoEm() == null && pendentes.size() < limite) {
+                    pendentes.add(evento);
+                }
+            }
+            return pendentes;
+        });
+        when(repository.marcarPublicados(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            OffsetDateTime agora = invocation.getArgument(1);
+            ids.forEach(id -> outbox.get(id).setPublicadoEm(agora));
+            return ids.size();
+        });
+        when(repository.contarPendentes()).thenAnswer(invocation ->
+                outbox.values().stream().filter(evento -> evento.getPublicadoEm() == null).count());
+        return repository;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.infra.security;
+
+import com.example.demo.infra.exception.SenhaHashSaturadaException;
+import com.example.demo.infra.exception.ValidationExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pool com 1 thread e fila de 1: a terceira operação simultânea é recusada na hora (503 + Retry-After)
+ */
+class SenhaHashExecutorTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private final SenhaHashExecutor executor = new SenhaHashExecutor(new EncoderBloqueante(), new SimpleMeterRegistry(), 1, 1);
+
+    @Test
+    void filaCheiaRecusaNaHoraEAsAceitasTerminam() throws Exception {
+        CompletableFuture<String> emExecucao = executor.encode("a");
+        CompletableFuture<String> naFila = executor.encode("b");
+
+        assertThatThrownBy(() -> executor.encode("c")).isInstanceOf(SenhaHashSaturadaException.class);
+
+        liberar.countDown();
+        assertThat(emExecucao.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(naFila.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+
+    @Test
+    void recusaViraServiceUnavailableComRetryAfter() {
+        StaticMessageSource mensagens = new StaticMessageSource();
+        mensagens.setUseCodeAsDefaultMessage(true);
+        ValidationExceptionHandler handler = new ValidationExceptionHandler();
+        ReflectionTestUtils.setField(handler, "messageSource", mensagens);
+
+        var resposta = handler.handleSenhaHashSaturadaException(new SenhaHashSaturadaException("Password hashing queue is full"));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void usuarioInexistenteNaoConfere() throws Exception {
+        liberar.countDown();
+
+        assertThat(executor.matches("a", null).get(5, TimeUnit.SECONDS)).isEqualTo(false);
+        assertThat(executor.matches("a", "hash:a").get(5, TimeUnit.SECONDS)).isEqualTo(true);
+    }
+
+    /**
+     * Segura cada hash até o teste liberar, para encher o pool de forma determinística
+     */
+    private class EncoderBloqueante implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence senha) {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + senha;
+        }
+
+        @Override
+        public boolean matches(CharSequence senha, String hash) {
+            return encode(senha).equals(hash);
+        }
+    }
+}
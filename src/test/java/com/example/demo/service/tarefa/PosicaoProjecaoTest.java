@@ -0,0 +1,143 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.outbox.EventoOutbox;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Consumo do outbox com transações intercaladas, contra um log em memória que só mostra eventos de
+ * transações commitadas (como uma leitura READ COMMITTED) e gera snapshots no formato do txid_current_snapshot()
+ */
+class PosicaoProjecaoTest {
+
+    private final List<EventoOutbox> commitados = new ArrayList<>();
+
+    private final List<EventoOutbox> naoCommitados = new ArrayList<>();
+
+    private final TreeSet<Long> emAndamento = new TreeSet<>();
+
+    private long proximaTransacao = 100;
+
+    private long proximoId = 1;
+
+    @Test
+    void commitForaDeOrdemEsperaENaoPulaEvento() {
+        long lenta = iniciar();
+        long rapida = iniciar();
+        gravar(lenta);
+        gravar(rapida);
+        commit(rapida);
+
+        // O evento 2 já está visível, mas a transação 100 (evento 1) ainda pode commitar atrás dele
+        PosicaoProjecao inicio = new PosicaoProjecao(0, 0, SnapshotTransacoes.parse("1:1:"));
+        PosicaoProjecao.Lote lote = inicio.proximoLote(candidatos(inicio), horizonte());
+        assertThat(lote.consumidos()).isEqualTo(0);
+        assertThat(lote.proxima()).isEqualTo(inicio);
+
+        commit(lenta);
+        lote = inicio.proximoLote(candidatos(inicio), horizonte());
+        assertThat(ids(lote.aplicar())).containsExactly(1L, 2L);
+        assertThat(lote.proxima()).isEqualTo(new PosicaoProjecao(rapida, 2, inicio.base()));
+    }
+
+    @Test
+    void loteParaNoHorizonteEContinuaDali() {
+        long primeira = iniciar();
+        gravar(primeira);
+        commit(primeira);
+        long lenta = iniciar();
+        long depois = iniciar();
+        gravar(depois);
+        commit(depois);
+        gravar(lenta);
+
+        PosicaoProjecao inicio = new PosicaoProjecao(0, 0, SnapshotTransacoes.parse("1:1:"));
+        PosicaoProjecao.Lote lote = inicio.proximoLote(candidatos(inicio), horizonte());
+        assertThat(ids(lote.aplicar())).containsExactly(1L);
+
+        commit(lenta);
+        PosicaoProjecao posicao = lote.proxima();
+        lote = posicao.proximoLote(candidatos(posicao), horizonte());
+        // Evento 3 (transação menor, commit depois) vem antes do 2
+        assertThat(ids(lote.aplicar())).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void replaySeguidoDeConsumoAplicaSoOQueOSnapshotNaoViu() {
+        long antes = iniciar();
+        gravar(antes);
+        commit(antes);
+        long duranteReplay = iniciar();
+        gravar(duranteReplay);
+        long commitadaNoReplay = iniciar();
+        gravar(commitadaNoReplay);
+        commit(commitadaNoReplay);
+
+        // Replay: agregados lidos das tarefas com este snapshot, posição no xmin dele (como no REPLAY)
+        SnapshotTransacoes base = SnapshotTransacoes.parse(snapshotAtual());
+        PosicaoProjecao posicao = new PosicaoProjecao(base.xmin(), 0, base);
+
+        commit(duranteReplay);
+        long aposReplay = iniciar();
+        gravar(aposReplay);
+        commit(aposReplay);
+
+        PosicaoProjecao.Lote lote = posicao.proximoLote(candidatos(posicao), horizonte());
+        // 1 está abaixo da posição e 3 já era visível no snapshot: só 2 e 4 faltam nos agregados
+        assertThat(ids(lote.aplicar())).containsExactly(2L, 4L);
+        assertThat(lote.consumidos()).isEqualTo(3);
+        assertThat(lote.proxima().transacao()).isEqualTo(aposReplay);
+    }
+
+    private long iniciar() {
+        emAndamento.add(proximaTransacao);
+        return proximaTransacao++;
+    }
+
+    private void gravar(long transacao) {
+        naoCommitados.add(new EventoOutbox(proximoId++, "tarefa.criada", 1L, "{}", OffsetDateTime.now(), null, transacao));
+    }
+
+    private void commit(long transacao) {
+        emAndamento.remove(transacao);
+        naoCommitados.removeIf(evento -> {
+            if (evento.getTransacao() == transacao) {
+                commitados.add(evento);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private long horizonte() {
+        return emAndamento.isEmpty() ? proximaTransacao : emAndamento.first();
+    }
+
+    private String snapshotAtual() {
+        return horizonte() + ":" + proximaTransacao + ":"
+                + emAndamento.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * findEventosTarefaApos: commitados depois da posição, em ordem (transacao, id)
+     */
+    private List<EventoOutbox> candidatos(PosicaoProjecao posicao) {
+        return commitados.stream()
+                .filter(evento -> evento.getTransacao() > posicao.transacao()
+                        || (evento.getTransacao() == posicao.transacao() && evento.getId() > posicao.eventoId()))
+                .sorted(Comparator.comparing(EventoOutbox::getTransacao).thenComparing(EventoOutbox::getId))
+                .toList();
+    }
+
+    private static List<Long> ids(List<EventoOutbox> eventos) {
+        return eventos.stream().map(EventoOutbox::getId).toList();
+    }
+}
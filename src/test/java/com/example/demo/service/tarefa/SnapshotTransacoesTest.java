@@ -0,0 +1,29 @@
+package com.example.demo.service.tarefa;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotTransacoesTest {
+
+    @Test
+    void visibilidadePeloSnapshot() {
+        SnapshotTransacoes snapshot = SnapshotTransacoes.parse("100:110:104,102");
+
+        // Terminadas antes do snapshot
+        assertThat(snapshot.visivel(99)).isTrue();
+        assertThat(snapshot.visivel(103)).isTrue();
+        // Em andamento no snapshot ou iniciadas depois: a leitura não as viu
+        assertThat(snapshot.visivel(102)).isFalse();
+        assertThat(snapshot.visivel(104)).isFalse();
+        assertThat(snapshot.visivel(110)).isFalse();
+    }
+
+    @Test
+    void snapshotSemTransacoesEmAndamento() {
+        SnapshotTransacoes snapshot = SnapshotTransacoes.parse("100:100:");
+
+        assertThat(snapshot.visivel(99)).isTrue();
+        assertThat(snapshot.visivel(100)).isFalse();
+    }
+}
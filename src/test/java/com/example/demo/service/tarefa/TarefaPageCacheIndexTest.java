@@ -0,0 +1,61 @@
+package com.example.demo.service.tarefa;
+
+import com.example.demo.domain.model.dto.tarefa.TarefaSnapshot;
+import com.example.demo.domain.model.tarefa.Tarefa;
+import com.example.demo.infra.cache.CacheKeyPrefixMetrics;
+import com.example.demo.infra.cache.InstrumentedCaffeineCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TarefaPageCacheIndexTest {
+
+    @Test
+    void escritaDuranteACargaNaoDeixaAPaginaVelhaNoCache() throws Exception {
+        InstrumentedCaffeineCacheManager cacheManager = new InstrumentedCaffeineCacheManager(new CacheKeyPrefixMetrics(new SimpleMeterRegistry()));
+        cacheManager.setCacheNames(List.of(TarefaPageCacheIndex.CACHE));
+        TarefaPageCacheIndex index = new TarefaPageCacheIndex(cacheManager);
+        Cache cache = cacheManager.getCache(TarefaPageCacheIndex.CACHE);
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(7L);
+        tarefa.setDataCriacao(LocalDate.of(2025, 1, 1));
+        String key = TarefaPageCacheIndex.paginaKey(0, 10);
+
+        CountDownLatch consultou = new CountDownLatch(1);
+        CountDownLatch registrar = new CountDownLatch(1);
+        Thread leitor = new Thread(() -> cache.get(key, () -> {
+            index.iniciarCarga(key);
+            // SELECT feito antes do commit da escrita: o resultado já está velho
+            List<TarefaSnapshot> velha = List.of(TarefaSnapshot.of(tarefa));
+            consultou.countDown();
+            registrar.await(5, TimeUnit.SECONDS);
+            index.registrarPagina(key, velha);
+            return velha;
+        }));
+        leitor.start();
+        assertThat(consultou.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // afterCommit da escrita entre a consulta e o registro da página
+        Thread escritor = new Thread(() -> index.onAtualizada(tarefa, tarefa.getDataCriacao()));
+        escritor.start();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (escritor.getState() == Thread.State.RUNNABLE || escritor.getState() == Thread.State.NEW) {
+            if (System.nanoTime() > limite) {
+                break;
+            }
+            Thread.sleep(5);
+        }
+        registrar.countDown();
+        leitor.join(5_000);
+        escritor.join(5_000);
+
+        assertThat(cache.get(key)).isNull();
+    }
+}